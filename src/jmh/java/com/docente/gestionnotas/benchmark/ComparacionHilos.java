@@ -0,0 +1,96 @@
+package com.docente.gestionnotas.benchmark;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara hilos de plataforma y virtuales (spring.threads.virtual.enabled) con la misma carga:
+ * ejecuta {@link PruebaCarga} dos veces, cada una con la aplicación recién iniciada sobre su propia
+ * base en memoria generada con la misma semilla, y muestra throughput y latencias lado a lado.
+ * <p>
+ * Por defecto mide la vista de un curso (/ui/cursos/{id}) y la carga de notas (API y formulario)
+ * con 1000 clientes, bastante más que los 200 hilos de Tomcat; los argumentos carga.* y
+ * gestion.generador.* de {@link PruebaCarga} se pueden sobrescribir:
+ * <pre>
+ * mvn -Pbenchmarks compile exec:exec@comparacion-hilos -Dcarga.argumentos="--carga.clientes=2000"
+ * </pre>
+ */
+public final class ComparacionHilos {
+
+    private static final String OPERACIONES_DEFECTO =
+            "GET /ui/cursos/\\{id\\}|POST /api/nucleos/\\{id\\}/notas|POST /ui/notas/guardar";
+    private static final int CLIENTES_DEFECTO = 1000;
+
+    private ComparacionHilos() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, PruebaCarga.Resultado> resultados = new LinkedHashMap<>();
+        Path archivo = Path.of("target/carga/comparacion-hilos.csv");
+
+        for (String modo : List.of("plataforma", "virtuales")) {
+            List<String> argumentos = new ArrayList<>(Arrays.asList(args));
+            agregarSiFalta(argumentos, "carga.operaciones", OPERACIONES_DEFECTO);
+            agregarSiFalta(argumentos, "carga.clientes", String.valueOf(CLIENTES_DEFECTO));
+            agregarSiFalta(argumentos, "spring.datasource.url", "jdbc:h2:mem:carga-" + modo + ";DB_CLOSE_DELAY=-1");
+            argumentos.add("--spring.threads.virtual.enabled=" + modo.equals("virtuales"));
+
+            System.out.printf("%n==================== Hilos %s ====================%n", modo);
+            try (ConfigurableApplicationContext contexto = PruebaCarga.iniciar(argumentos.toArray(String[]::new))) {
+                resultados.put(modo, PruebaCarga.medir(contexto));
+                archivo = Path.of(contexto.getEnvironment()
+                        .getProperty("carga.resultados", "target/carga/comparacion-hilos.csv"));
+            }
+        }
+
+        informar(resultados, archivo);
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private static void informar(Map<String, PruebaCarga.Resultado> resultados, Path archivo) throws Exception {
+        String formato = "%-42s %11s %9s %8s %10s %9s %9s %9s %9s%n";
+        StringBuilder tabla = new StringBuilder(System.lineSeparator()).append(String.format(formato,
+                "Endpoint", "Hilos", "Solic.", "Errores", "Solic./s", "p50 ms", "p95 ms", "p99 ms", "máx. ms"));
+        List<String> filasCsv = new ArrayList<>();
+        filasCsv.add("endpoint,hilos,solicitudes,errores,solicitudes_por_segundo,p50_ms,p95_ms,p99_ms,max_ms");
+
+        // Endpoint por endpoint, un renglón por modo
+        Map<String, MuestrasLatencia> totales = new LinkedHashMap<>();
+        resultados.values().iterator().next().medidas().keySet().forEach(endpoint ->
+                resultados.forEach((modo, resultado) -> {
+                    MuestrasLatencia muestras = resultado.medidas().get(endpoint);
+                    totales.computeIfAbsent(modo, m -> new MuestrasLatencia()).agregar(muestras);
+                    String[] columnas = PruebaCarga.columnas(muestras, resultado.segundos());
+                    tabla.append(PruebaCarga.fila(formato, endpoint, concatenar(modo, columnas)));
+                    filasCsv.add("\"" + endpoint + "\"," + modo + "," + String.join(",", columnas));
+                }));
+        totales.forEach((modo, muestras) -> {
+            String[] columnas = PruebaCarga.columnas(muestras, resultados.get(modo).segundos());
+            tabla.append(PruebaCarga.fila(formato, "TOTAL", concatenar(modo, columnas)));
+            filasCsv.add("TOTAL," + modo + "," + String.join(",", columnas));
+        });
+        System.out.print(tabla);
+
+        PruebaCarga.escribirCsv(archivo, filasCsv);
+    }
+
+    private static void agregarSiFalta(List<String> argumentos, String propiedad, String valor) {
+        if (argumentos.stream().noneMatch(argumento -> argumento.startsWith("--" + propiedad + "="))) {
+            argumentos.add("--" + propiedad + "=" + valor);
+        }
+    }
+
+    private static String[] concatenar(String primera, String[] resto) {
+        String[] columnas = new String[resto.length + 1];
+        columnas[0] = primera;
+        System.arraycopy(resto, 0, columnas, 1, resto.length);
+        return columnas;
+    }
+}
@@ -0,0 +1,139 @@
+package com.docente.gestionnotas.benchmark;
+
+import com.docente.gestionnotas.GestionAlumnosApplication;
+import com.docente.gestionnotas.service.NotaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Contexto de Spring para los benchmarks: la aplicación completa (sin servidor web) sobre
+ * una base H2 en memoria propia, con el esquema creado por las migraciones de Flyway.
+ * Los datos se cargan con inserciones JDBC por lotes y semilla fija, para que cada
+ * ejecución mida lo mismo.
+ */
+final class ContextoBenchmark implements AutoCloseable {
+
+    // Semilla de los datos generados: dos ejecuciones con los mismos parámetros usan los mismos datos
+    static final long SEMILLA = 42L;
+
+    private static final int TAMANIO_LOTE = 1000;
+
+    private final ConfigurableApplicationContext contexto;
+    private final JdbcTemplate jdbc;
+    private final Random random = new Random(SEMILLA);
+
+    private ContextoBenchmark(ConfigurableApplicationContext contexto) {
+        this.contexto = contexto;
+        this.jdbc = contexto.getBean(JdbcTemplate.class);
+    }
+
+    static ContextoBenchmark iniciar() {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GestionAlumnosApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.com.docente.gestionnotas=WARN")
+                .run();
+        return new ContextoBenchmark(contexto);
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    JdbcTemplate jdbc() {
+        return jdbc;
+    }
+
+    // --- Carga de datos ---
+
+    Long crearCurso(String materia, int anio, String division) {
+        return new SimpleJdbcInsert(jdbc).withTableName("curso").usingGeneratedKeyColumns("id")
+                .executeAndReturnKey(Map.of(
+                        "nombre_completo", materia + " - " + anio + "º " + division,
+                        "nombre_materia", materia,
+                        "descripcion", materia + " - " + anio + "º " + division,
+                        "anio", anio,
+                        "division", division))
+                .longValue();
+    }
+
+    Long crearNucleo(Long cursoId, String tema) {
+        return new SimpleJdbcInsert(jdbc).withTableName("nucleo_pedagogico").usingGeneratedKeyColumns("id")
+                .executeAndReturnKey(Map.of("curso_id", cursoId, "tema", tema))
+                .longValue();
+    }
+
+    /**
+     * Carga notas aleatorias (1 a 10) en un núcleo mediante la importación CSV de la aplicación,
+     * que inserta por lotes y actualiza los agregados del núcleo.
+     */
+    void cargarNotas(Long nucleoId, int cantidad) {
+        StringBuilder csv = new StringBuilder(cantidad * 12);
+        for (int i = 0; i < cantidad; i++) {
+            csv.append(nucleoId).append(',').append(1 + random.nextInt(10)).append('\n');
+        }
+        try {
+            bean(NotaService.class).importarCsv(new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Inserta alumnos con DNI y email únicos y devuelve sus IDs en orden de inserción.
+     */
+    List<Long> crearAlumnos(int cantidad) {
+        long desde = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM alumno", Long.class);
+        List<Object[]> lote = new ArrayList<>(TAMANIO_LOTE);
+        for (int i = 0; i < cantidad; i++) {
+            long numero = desde + i + 1;
+            lote.add(new Object[]{"Nombre" + random.nextInt(5000), "Apellido" + random.nextInt(20000),
+                    String.valueOf(10_000_000 + numero), "alumno" + numero + "@benchmark.local"});
+            if (lote.size() == TAMANIO_LOTE || i == cantidad - 1) {
+                jdbc.batchUpdate("INSERT INTO alumno (nombre, apellido, dni, email) VALUES (?, ?, ?, ?)", lote);
+                lote.clear();
+            }
+        }
+        return jdbc.queryForList("SELECT id FROM alumno WHERE id > ? ORDER BY id", Long.class, desde);
+    }
+
+    void inscribir(Long cursoId, List<Long> alumnoIds) {
+        List<Object[]> filas = alumnoIds.stream().map(id -> new Object[]{id, cursoId}).toList();
+        for (int desde = 0; desde < filas.size(); desde += TAMANIO_LOTE) {
+            jdbc.batchUpdate("INSERT INTO alumno_curso (alumno_id, curso_id) VALUES (?, ?)",
+                    filas.subList(desde, Math.min(desde + TAMANIO_LOTE, filas.size())));
+        }
+    }
+
+    /**
+     * Vacía la caché de segundo nivel. Necesario después de modificar datos por JDBC,
+     * que no pasa por Hibernate y por lo tanto no invalida las entradas afectadas.
+     */
+    void vaciarCacheSegundoNivel() {
+        bean(EntityManagerFactory.class).getCache().evictAll();
+    }
+
+    @Override
+    public void close() {
+        contexto.close();
+    }
+}
@@ -0,0 +1,80 @@
+package com.docente.gestionnotas.benchmark;
+
+import com.docente.gestionnotas.service.AlumnoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AlumnoService#inscribirAlumnoACurso(Long, Long)} sobre un curso que ya tiene
+ * {@code alumnosInscritos} alumnos. Cada iteración inscribe exactamente {@link #LOTE} alumnos
+ * distintos de una reserva de alumnos no inscritos (SingleShotTime con batchSize: la cantidad de
+ * invocaciones no depende de cuánto tarde cada una), y antes de cada iteración se quitan esas
+ * inscripciones, para que siempre se mida una inscripción nueva y no el caso "ya inscrito".
+ * El resultado es el tiempo de un lote completo.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = InscripcionBenchmark.LOTE)
+@Measurement(iterations = 5, batchSize = InscripcionBenchmark.LOTE)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InscripcionBenchmark {
+
+    // Inscripciones por iteración; la reserva tiene exactamente estos alumnos
+    static final int LOTE = 2_000;
+
+    @Param({"100", "10000", "100000"})
+    int alumnosInscritos;
+
+    private ContextoBenchmark contexto;
+    private AlumnoService alumnoService;
+    private Long cursoId;
+    private List<Long> reserva;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar();
+        alumnoService = contexto.bean(AlumnoService.class);
+        cursoId = contexto.crearCurso("Historia", 2, "B");
+        contexto.inscribir(cursoId, contexto.crearAlumnos(alumnosInscritos));
+        reserva = contexto.crearAlumnos(LOTE);
+    }
+
+    @Setup(Level.Iteration)
+    public void quitarInscripcionesDeLaReserva() {
+        contexto.jdbc().update("DELETE FROM alumno_curso WHERE curso_id = ? AND alumno_id >= ?",
+                cursoId, reserva.get(0));
+        contexto.vaciarCacheSegundoNivel();
+        siguiente = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Object inscribirAlumnoACurso() {
+        if (siguiente == reserva.size()) {
+            // Seguir (con el caso "ya inscrito") falsearía el resultado
+            throw new IllegalStateException("Reserva de alumnos agotada: la iteración hizo más de "
+                    + LOTE + " inscripciones.");
+        }
+        return alumnoService.inscribirAlumnoACurso(reserva.get(siguiente++), cursoId);
+    }
+}
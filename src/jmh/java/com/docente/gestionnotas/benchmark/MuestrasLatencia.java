@@ -0,0 +1,59 @@
+package com.docente.gestionnotas.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Latencias (en nanosegundos) y errores de un endpoint durante una prueba de carga.
+ * No es segura entre hilos: cada cliente registra en las suyas y se combinan al terminar.
+ */
+final class MuestrasLatencia {
+
+    private long[] latencias = new long[1024];
+    private int cantidad;
+    private long errores;
+    private long[] ordenadas;
+
+    void registrar(long latencia, boolean exito) {
+        if (cantidad == latencias.length) {
+            latencias = Arrays.copyOf(latencias, cantidad * 2);
+        }
+        latencias[cantidad++] = latencia;
+        if (!exito) {
+            errores++;
+        }
+        ordenadas = null;
+    }
+
+    void agregar(MuestrasLatencia otras) {
+        if (cantidad + otras.cantidad > latencias.length) {
+            latencias = Arrays.copyOf(latencias, Math.max(latencias.length * 2, cantidad + otras.cantidad));
+        }
+        System.arraycopy(otras.latencias, 0, latencias, cantidad, otras.cantidad);
+        cantidad += otras.cantidad;
+        errores += otras.errores;
+        ordenadas = null;
+    }
+
+    int cantidad() {
+        return cantidad;
+    }
+
+    long errores() {
+        return errores;
+    }
+
+    /**
+     * Percentil por rango más cercano (exacto, sin histograma aproximado); 100 es la máxima.
+     */
+    long percentil(int percentil) {
+        if (cantidad == 0) {
+            return 0;
+        }
+        if (ordenadas == null) {
+            ordenadas = Arrays.copyOf(latencias, cantidad);
+            Arrays.sort(ordenadas);
+        }
+        int rango = (int) Math.ceil(percentil / 100.0 * cantidad);
+        return ordenadas[Math.max(rango, 1) - 1];
+    }
+}
@@ -0,0 +1,58 @@
+package com.docente.gestionnotas.benchmark;
+
+import com.docente.gestionnotas.service.CursoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CursoService#calcularPromedioNucleo(Long, Long)} contra H2 en memoria, con la
+ * transacción, la caché de segundo nivel y los agregados del núcleo tal como en la aplicación.
+ * El tiempo no debería depender de la cantidad de notas del núcleo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromedioNucleoServicioBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int notasPorNucleo;
+
+    private ContextoBenchmark contexto;
+    private CursoService cursoService;
+    private Long cursoId;
+    private Long nucleoId;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar();
+        cursoService = contexto.bean(CursoService.class);
+        cursoId = contexto.crearCurso("Matemática", 1, "A");
+        nucleoId = contexto.crearNucleo(cursoId, "Funciones");
+        contexto.cargarNotas(nucleoId, notasPorNucleo);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public double calcularPromedioNucleo() {
+        return cursoService.calcularPromedioNucleo(cursoId, nucleoId);
+    }
+}
@@ -0,0 +1,114 @@
+package com.docente.gestionnotas.benchmark;
+
+import com.docente.gestionnotas.model.Curso;
+import com.docente.gestionnotas.model.Nota;
+import com.docente.gestionnotas.model.NucleoPedagogico;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Promedios de notas en memoria, sin base de datos.
+ * Compara los agregados de cada núcleo ({@link NucleoPedagogico#calcularPromedio()}) con el
+ * recorrido de todas sus notas que hacía el antiguo CursoUIController.calcularPromedios,
+ * copiado aquí como referencia para medir la diferencia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromediosBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int notasPorNucleo;
+
+    @Param({"1", "20"})
+    int nucleosPorCurso;
+
+    private Curso curso;
+    private NucleoPedagogico nucleo;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(ContextoBenchmark.SEMILLA);
+        curso = new Curso();
+        curso.setId(1L);
+        long notaId = 1;
+        for (long n = 1; n <= nucleosPorCurso; n++) {
+            NucleoPedagogico nuevo = new NucleoPedagogico();
+            nuevo.setId(n);
+            nuevo.setTema("Núcleo " + n);
+            for (int i = 0; i < notasPorNucleo; i++) {
+                Nota nota = new Nota();
+                nota.setId(notaId++);
+                nota.setValor(1 + random.nextInt(10));
+                nuevo.addNota(nota);
+            }
+            curso.addNucleo(nuevo);
+        }
+        nucleo = curso.getNucleos().iterator().next();
+    }
+
+    // --- Un núcleo ---
+
+    @Benchmark
+    public double promedioNucleoDesdeAgregados() {
+        return nucleo.calcularPromedio();
+    }
+
+    @Benchmark
+    public double promedioNucleoRecorriendoNotas() {
+        return nucleo.getNotas().stream()
+                .mapToInt(Nota::getValor)
+                .average()
+                .orElse(0.0);
+    }
+
+    // --- Todos los núcleos de un curso (vista cursos/detalles) ---
+
+    @Benchmark
+    public Map<Long, Double> promediosCursoDesdeAgregados() {
+        Map<Long, Double> promedios = new HashMap<>();
+        curso.getNucleos().forEach(n -> {
+            if (n.getEstadisticas().getCantidad() > 0) {
+                promedios.put(n.getId(), n.calcularPromedio());
+            }
+        });
+        return promedios;
+    }
+
+    // Pipeline original de CursoUIController.calcularPromedios
+    @Benchmark
+    public Map<Long, Double> promediosCursoPipelineAnterior() {
+        Map<Long, Double> promedios = new HashMap<>();
+
+        if (curso.getNucleos() != null) {
+            curso.getNucleos().forEach(n -> {
+                if (n.getNotas() != null && !n.getNotas().isEmpty()) {
+                    double promedio = n.getNotas().stream()
+                            .mapToInt(nota -> nota.getValor())
+                            .average()
+                            .orElse(0.0);
+                    promedios.put(n.getId(), promedio);
+                }
+            });
+        }
+
+        return promedios;
+    }
+}
@@ -0,0 +1,348 @@
+package com.docente.gestionnotas.benchmark;
+
+import com.docente.gestionnotas.GestionAlumnosApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba de carga dentro de la misma JVM: inicia la aplicación con el perfil carga (base en memoria
+ * cargada por GeneradorDatos) en un puerto libre y la somete a una mezcla de solicitudes /api/* y
+ * /ui/* desde muchos clientes concurrentes, cada uno en su propio hilo virtual.
+ * Informa, por endpoint, solicitudes, errores, throughput y latencias p50/p95/p99/máxima,
+ * en consola y en CSV.
+ * <p>
+ * Los argumentos se pasan a Spring, así que sirven tanto para la prueba como para la aplicación:
+ * <pre>
+ * mvn -Pbenchmarks compile exec:exec@carga -Dcarga.argumentos="--carga.clientes=500 --gestion.generador.alumnos=50000"
+ * </pre>
+ * <ul>
+ *   <li>carga.clientes: clientes concurrentes (200)</li>
+ *   <li>carga.calentamiento-s: segundos iniciales que no se miden (10)</li>
+ *   <li>carga.duracion-s: segundos medidos (60)</li>
+ *   <li>carga.pausa-ms: pausa de cada cliente entre solicitudes (0 = sin pausa)</li>
+ *   <li>carga.semilla: semilla de la mezcla de solicitudes (42)</li>
+ *   <li>carga.operaciones: expresión regular sobre los nombres de las operaciones a incluir (todas)</li>
+ *   <li>carga.resultados: archivo CSV de resultados (target/carga/resultados.csv)</li>
+ * </ul>
+ */
+public final class PruebaCarga {
+
+    private PruebaCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext contexto = iniciar(args)) {
+            Resultado resultado = medir(contexto);
+            Path archivo = Path.of(contexto.getEnvironment().getProperty("carga.resultados", "target/carga/resultados.csv"));
+            informar(resultado, archivo);
+        }
+    }
+
+    /**
+     * Inicia la aplicación con el perfil carga en un puerto libre. Los argumentos son de Spring.
+     */
+    static ConfigurableApplicationContext iniciar(String... args) {
+        return new SpringApplicationBuilder(GestionAlumnosApplication.class)
+                .profiles("carga")
+                .properties("server.port=0")
+                .run(args);
+    }
+
+    /**
+     * Somete la aplicación ya iniciada a la mezcla de solicitudes, con los parámetros carga.* del entorno.
+     */
+    static Resultado medir(ConfigurableApplicationContext contexto) throws Exception {
+        Environment entorno = contexto.getEnvironment();
+        int clientes = entorno.getProperty("carga.clientes", Integer.class, 200);
+        Duration calentamiento = Duration.ofSeconds(entorno.getProperty("carga.calentamiento-s", Long.class, 10L));
+        Duration duracion = Duration.ofSeconds(entorno.getProperty("carga.duracion-s", Long.class, 60L));
+        long pausaMs = entorno.getProperty("carga.pausa-ms", Long.class, 0L);
+        long semilla = entorno.getProperty("carga.semilla", Long.class, ContextoBenchmark.SEMILLA);
+        Pattern operaciones = Pattern.compile(entorno.getProperty("carga.operaciones", ".*"));
+
+        int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        Datos datos = Datos.cargar(contexto.getBean(JdbcTemplate.class));
+        List<Operacion> mezcla = mezcla(URI.create("http://localhost:" + puerto), datos).stream()
+                .filter(operacion -> operaciones.matcher(operacion.nombre()).matches())
+                .toList();
+        if (mezcla.isEmpty()) {
+            throw new IllegalArgumentException("carga.operaciones no coincide con ninguna operación: " + operaciones);
+        }
+
+        System.out.printf(Locale.ROOT, "%nPrueba de carga: %d clientes, %d s de calentamiento, %d s medidos "
+                        + "(%d cursos, %d núcleos, %d alumnos)%n", clientes, calentamiento.toSeconds(),
+                duracion.toSeconds(), datos.cursoIds().size(), datos.nucleos().size(), datos.alumnoIds().size());
+
+        return new Resultado(ejecutar(mezcla, clientes, calentamiento, duracion, pausaMs, semilla), duracion);
+    }
+
+    // ==================== MEZCLA DE SOLICITUDES ====================
+
+    /**
+     * Operaciones con su peso relativo: mayoría de lecturas (vistas de curso y alumno, búsqueda,
+     * estadísticas) y una parte de carga de notas, por la API y por el formulario de la UI.
+     */
+    private static List<Operacion> mezcla(URI base, Datos datos) {
+        List<Operacion> operaciones = new ArrayList<>();
+
+        // --- UI ---
+        operaciones.add(new Operacion("GET /ui/cursos", 5, r -> get(base, "/ui/cursos")));
+        operaciones.add(new Operacion("GET /ui/cursos/{id}", 15, r ->
+                get(base, "/ui/cursos/" + datos.curso(r))));
+        operaciones.add(new Operacion("GET /ui/alumnos", 5, r -> get(base, "/ui/alumnos?orden=apellido")));
+        operaciones.add(new Operacion("GET /ui/alumnos/{id}", 10, r ->
+                get(base, "/ui/alumnos/" + datos.alumno(r))));
+        operaciones.add(new Operacion("POST /ui/notas/guardar", 5, r -> {
+            long[] nucleo = datos.nucleo(r);
+            return post(base, "/ui/notas/guardar", "application/x-www-form-urlencoded",
+                    "cursoId=" + nucleo[1] + "&nucleoId=" + nucleo[0] + "&valor=" + (1 + r.nextInt(10)));
+        }));
+
+        // --- API ---
+        operaciones.add(new Operacion("GET /api/cursos/{id}/resumen", 10, r ->
+                get(base, "/api/cursos/" + datos.curso(r) + "/resumen")));
+        operaciones.add(new Operacion("GET /api/cursos/{id}/estadisticas", 5, r ->
+                get(base, "/api/cursos/" + datos.curso(r) + "/estadisticas")));
+        operaciones.add(new Operacion("GET /api/cursos/{id}/promedio/{nucleoId}", 5, r -> {
+            long[] nucleo = datos.nucleo(r);
+            return get(base, "/api/cursos/" + nucleo[1] + "/promedio/" + nucleo[0]);
+        }));
+        operaciones.add(new Operacion("GET /api/alumnos/{id}", 10, r ->
+                get(base, "/api/alumnos/" + datos.alumno(r))));
+        operaciones.add(new Operacion("GET /api/alumnos/search", 10, r ->
+                get(base, "/api/alumnos/search?q=" + URLEncoder.encode(datos.prefijo(r), StandardCharsets.UTF_8))));
+        operaciones.add(new Operacion("GET /api/nucleos/{id}/notas", 5, r ->
+                get(base, "/api/nucleos/" + datos.nucleo(r)[0] + "/notas")));
+        operaciones.add(new Operacion("POST /api/nucleos/{id}/notas", 10, r ->
+                post(base, "/api/nucleos/" + datos.nucleo(r)[0] + "/notas", "application/json",
+                        "{\"valor\": " + (1 + r.nextInt(10)) + "}")));
+        operaciones.add(new Operacion("PUT /api/nucleos/notas/{id}", 5, r ->
+                HttpRequest.newBuilder(base.resolve("/api/nucleos/notas/" + datos.nota(r)))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"valor\": " + (1 + r.nextInt(10)) + "}"))
+                        .build()));
+
+        return operaciones;
+    }
+
+    private static HttpRequest get(URI base, String ruta) {
+        return HttpRequest.newBuilder(base.resolve(ruta)).GET().build();
+    }
+
+    private static HttpRequest post(URI base, String ruta, String tipo, String cuerpo) {
+        return HttpRequest.newBuilder(base.resolve(ruta))
+                .header("Content-Type", tipo)
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+    }
+
+    // ==================== EJECUCIÓN ====================
+
+    private static Map<String, MuestrasLatencia> ejecutar(List<Operacion> mezcla, int clientes, Duration calentamiento,
+                                                  Duration duracion, long pausaMs, long semilla) throws Exception {
+        int[] pesosAcumulados = new int[mezcla.size()];
+        int total = 0;
+        for (int i = 0; i < mezcla.size(); i++) {
+            total += mezcla.get(i).peso();
+            pesosAcumulados[i] = total;
+        }
+        int pesoTotal = total;
+
+        long inicioMedicion = System.nanoTime() + calentamiento.toNanos();
+        long fin = inicioMedicion + duracion.toNanos();
+
+        // Sin seguir redirecciones: el 302 de un formulario de la UI es la respuesta a medir
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .executor(hilos)
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .followRedirects(HttpClient.Redirect.NEVER)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            List<Future<Map<String, MuestrasLatencia>>> resultados = new ArrayList<>(clientes);
+            for (int c = 0; c < clientes; c++) {
+                Random random = new Random(semilla + c);
+                resultados.add(hilos.submit(() -> {
+                    // Cada cliente registra en sus propias muestras: sin contención entre clientes
+                    Map<String, MuestrasLatencia> propias = new LinkedHashMap<>();
+                    long ahora;
+                    while ((ahora = System.nanoTime()) < fin) {
+                        int sorteo = random.nextInt(pesoTotal);
+                        int indice = 0;
+                        while (pesosAcumulados[indice] <= sorteo) {
+                            indice++;
+                        }
+                        Operacion operacion = mezcla.get(indice);
+
+                        boolean exito;
+                        try {
+                            HttpResponse<Void> respuesta = http.send(operacion.solicitud().apply(random),
+                                    HttpResponse.BodyHandlers.discarding());
+                            exito = respuesta.statusCode() < 400;
+                        } catch (IOException e) {
+                            exito = false;
+                        }
+                        long latencia = System.nanoTime() - ahora;
+                        if (ahora >= inicioMedicion) {
+                            propias.computeIfAbsent(operacion.nombre(), n -> new MuestrasLatencia()).registrar(latencia, exito);
+                        }
+                        if (pausaMs > 0) {
+                            Thread.sleep(pausaMs);
+                        }
+                    }
+                    return propias;
+                }));
+            }
+
+            Map<String, MuestrasLatencia> combinadas = new LinkedHashMap<>();
+            mezcla.forEach(operacion -> combinadas.put(operacion.nombre(), new MuestrasLatencia()));
+            for (Future<Map<String, MuestrasLatencia>> resultado : resultados) {
+                resultado.get().forEach((nombre, muestras) -> combinadas.get(nombre).agregar(muestras));
+            }
+            return combinadas;
+        }
+    }
+
+    // ==================== INFORME ====================
+
+    static void informar(Resultado resultado, Path archivo) throws IOException {
+        double segundos = resultado.segundos();
+        String formato = "%-42s %9s %8s %10s %9s %9s %9s %9s%n";
+        String encabezado = String.format(Locale.ROOT, formato,
+                "Endpoint", "Solic.", "Errores", "Solic./s", "p50 ms", "p95 ms", "p99 ms", "máx. ms");
+
+        MuestrasLatencia todas = new MuestrasLatencia();
+        List<String> filasCsv = new ArrayList<>();
+        filasCsv.add("endpoint,solicitudes,errores,solicitudes_por_segundo,p50_ms,p95_ms,p99_ms,max_ms");
+
+        StringBuilder tabla = new StringBuilder(System.lineSeparator()).append(encabezado);
+        resultado.medidas().forEach((nombre, muestras) -> {
+            todas.agregar(muestras);
+            tabla.append(fila(formato, nombre, columnas(muestras, segundos)));
+            filasCsv.add("\"" + nombre + "\"," + String.join(",", columnas(muestras, segundos)));
+        });
+        tabla.append(fila(formato, "TOTAL", columnas(todas, segundos)));
+        filasCsv.add("TOTAL," + String.join(",", columnas(todas, segundos)));
+        System.out.print(tabla);
+
+        escribirCsv(archivo, filasCsv);
+    }
+
+    // Solicitudes, errores, solicitudes/s, p50, p95, p99 y máxima (ms)
+    static String[] columnas(MuestrasLatencia muestras, double segundos) {
+        return new String[]{String.valueOf(muestras.cantidad()), String.valueOf(muestras.errores()),
+                String.format(Locale.ROOT, "%.1f", muestras.cantidad() / segundos),
+                milisegundos(muestras.percentil(50)), milisegundos(muestras.percentil(95)),
+                milisegundos(muestras.percentil(99)), milisegundos(muestras.percentil(100))};
+    }
+
+    static String fila(String formato, String nombre, String[] columnas) {
+        Object[] valores = new Object[columnas.length + 1];
+        valores[0] = nombre;
+        System.arraycopy(columnas, 0, valores, 1, columnas.length);
+        return String.format(Locale.ROOT, formato, valores);
+    }
+
+    static void escribirCsv(Path archivo, List<String> filas) throws IOException {
+        if (archivo.getParent() != null) {
+            Files.createDirectories(archivo.getParent());
+        }
+        try (PrintWriter salida = new PrintWriter(Files.newBufferedWriter(archivo, StandardCharsets.UTF_8))) {
+            filas.forEach(salida::println);
+        }
+        System.out.println(System.lineSeparator() + "Resultados en " + archivo.toAbsolutePath());
+    }
+
+    private static String milisegundos(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+
+    // ==================== TIPOS AUXILIARES ====================
+
+    /**
+     * Latencias por endpoint de una ejecución, en el orden de la mezcla.
+     */
+    record Resultado(Map<String, MuestrasLatencia> medidas, Duration duracion) {
+
+        double segundos() {
+            return duracion.toNanos() / 1e9;
+        }
+    }
+
+    private record Operacion(String nombre, int peso, Function<Random, HttpRequest> solicitud) {
+    }
+
+    /**
+     * IDs existentes sobre los que se sortean las solicitudes.
+     * Cada núcleo es {id, cursoId}; las notas se limitan a una muestra.
+     */
+    private record Datos(List<Long> cursoIds, List<long[]> nucleos, List<Long> alumnoIds,
+                         List<Long> notaIds, List<String> prefijos) {
+
+        private static final int MAXIMO_NOTAS = 50_000;
+
+        static Datos cargar(JdbcTemplate jdbc) {
+            List<Long> cursoIds = jdbc.queryForList("SELECT id FROM curso", Long.class);
+            List<long[]> nucleos = jdbc.query("SELECT id, curso_id FROM nucleo_pedagogico",
+                    (fila, n) -> new long[]{fila.getLong(1), fila.getLong(2)});
+            List<Long> alumnoIds = jdbc.queryForList("SELECT id FROM alumno", Long.class);
+            List<Long> notaIds = jdbc.queryForList("SELECT id FROM nota ORDER BY id LIMIT " + MAXIMO_NOTAS, Long.class);
+            // Prefijos de apellido de 3 letras, como los que escribe un usuario en el buscador
+            List<String> prefijos = jdbc.queryForList("SELECT DISTINCT apellido FROM alumno", String.class).stream()
+                    .map(apellido -> apellido.substring(0, Math.min(3, apellido.length())))
+                    .distinct()
+                    .toList();
+            if (cursoIds.isEmpty() || nucleos.isEmpty() || alumnoIds.isEmpty() || notaIds.isEmpty()) {
+                throw new IllegalStateException("La base no tiene datos suficientes para la prueba de carga: "
+                        + "revisar gestion.generador.* (se requieren cursos, núcleos, notas y alumnos).");
+            }
+            return new Datos(cursoIds, nucleos, alumnoIds, notaIds, prefijos);
+        }
+
+        Long curso(Random random) {
+            return cursoIds.get(random.nextInt(cursoIds.size()));
+        }
+
+        long[] nucleo(Random random) {
+            return nucleos.get(random.nextInt(nucleos.size()));
+        }
+
+        Long alumno(Random random) {
+            return alumnoIds.get(random.nextInt(alumnoIds.size()));
+        }
+
+        Long nota(Random random) {
+            return notaIds.get(random.nextInt(notaIds.size()));
+        }
+
+        String prefijo(Random random) {
+            return prefijos.get(random.nextInt(prefijos.size()));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.docente.gestionnotas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cachés de la aplicación (Caffeine).
+ * Las evicciones se aplican recién al confirmarse la transacción que modificó los datos:
+ * si se aplicaran antes, una lectura concurrente podría volver a cargar el valor anterior.
+ * Con {@code recordStats} en la especificación, los aciertos y fallos se publican
+ * en /actuator/metrics/cache.gets.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Catálogo liviano de cursos (id, nombre, año, división); una sola entrada con la lista completa
+    public static final String CATALOGO_CURSOS = "catalogoCursos";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${gestion.cache.catalogo-cursos.spec:maximumSize=100,expireAfterWrite=30m,recordStats}")
+            String especificacion) {
+        // Solo existen las cachés declaradas: un nombre mal escrito falla en lugar de crear otra
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CATALOGO_CURSOS);
+        cacheManager.setCacheSpecification(especificacion);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
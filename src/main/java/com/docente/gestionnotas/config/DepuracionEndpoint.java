@@ -0,0 +1,55 @@
+package com.docente.gestionnotas.config;
+
+import com.docente.gestionnotas.dto.ObjetivoDepuracion;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Endpoint de actuator para elevar el nivel de log de ciertas solicitudes
+ * sin reiniciar ni cambiar el nivel global (para eso está /actuator/loggers).
+ *
+ * <pre>
+ * GET    /actuator/depuracion                      objetivos activos
+ * POST   /actuator/depuracion                      {"cabecera": "abc123", "nivel": "DEBUG", "minutos": 10}
+ * DELETE /actuator/depuracion/{cabecera}           p. ej. /actuator/depuracion/abc123
+ * </pre>
+ * Solo las solicitudes que envían X-Depuracion: abc123 se registran en detalle.
+ */
+@Component
+@Endpoint(id = "depuracion")
+public class DepuracionEndpoint {
+
+    private static final String NIVEL_DEFECTO = "DEBUG";
+    private static final int MINUTOS_DEFECTO = 15;
+    private static final int MINUTOS_MAXIMO = 240;
+
+    private final DepuracionSelectiva depuracion;
+
+    public DepuracionEndpoint(DepuracionSelectiva depuracion) {
+        this.depuracion = depuracion;
+    }
+
+    @ReadOperation
+    public List<ObjetivoDepuracion> objetivos() {
+        return depuracion.activos();
+    }
+
+    @WriteOperation
+    public ObjetivoDepuracion activar(String cabecera, @Nullable String nivel, @Nullable Integer minutos) {
+        int duracion = minutos == null ? MINUTOS_DEFECTO : Math.min(minutos, MINUTOS_MAXIMO);
+        return depuracion.activar(cabecera, nivel == null ? NIVEL_DEFECTO : nivel, Duration.ofMinutes(duracion));
+    }
+
+    @DeleteOperation
+    public boolean desactivar(@Selector String cabecera) {
+        return depuracion.desactivar(cabecera);
+    }
+}
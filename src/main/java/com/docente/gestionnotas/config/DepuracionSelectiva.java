@@ -0,0 +1,121 @@
+package com.docente.gestionnotas.config;
+
+import com.docente.gestionnotas.dto.ObjetivoDepuracion;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Eleva el nivel de log solo para ciertas solicitudes, sin cambiar el nivel global.
+ * Si el valor de la cabecera X-Depuracion de la solicitud coincide con un objetivo activo,
+ * se guarda el nivel en el MDC bajo {@link #CLAVE_MDC}; el turbo filtro de logback-spring.xml
+ * deja pasar entonces los eventos de ese nivel en cualquier logger.
+ * La aplicación no tiene autenticación, así que no hay un usuario por el que filtrar: para seguir
+ * a un cliente, este envía la misma cabecera en cada solicitud.
+ * Los objetivos se administran en tiempo de ejecución desde {@link DepuracionEndpoint} y vencen solos.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DepuracionSelectiva extends OncePerRequestFilter {
+
+    public static final String CLAVE_MDC = "depuracion";
+    public static final String CABECERA = "X-Depuracion";
+
+    private static final Set<String> NIVELES = Set.of("DEBUG", "TRACE");
+
+    // Valor de la cabecera -> objetivo activo
+    private final Map<String, ObjetivoDepuracion> objetivos = new ConcurrentHashMap<>();
+
+    /**
+     * Activa la depuración para un valor de la cabecera X-Depuracion durante el tiempo indicado.
+     * @throws IllegalArgumentException si el valor, el nivel o la duración no son válidos
+     */
+    public ObjetivoDepuracion activar(String cabecera, String nivel, Duration duracion) {
+        if (cabecera == null || cabecera.isBlank()) {
+            throw new IllegalArgumentException("El valor de la cabecera es obligatorio.");
+        }
+        String nivelNormalizado = nivel.toUpperCase(Locale.ROOT);
+        if (!NIVELES.contains(nivelNormalizado)) {
+            throw new IllegalArgumentException("Nivel inválido (DEBUG o TRACE): " + nivel);
+        }
+        if (duracion.isNegative() || duracion.isZero()) {
+            throw new IllegalArgumentException("La duración debe ser positiva.");
+        }
+        ObjetivoDepuracion objetivo = new ObjetivoDepuracion(cabecera.trim(), nivelNormalizado,
+                Instant.now().plus(duracion));
+        objetivos.put(objetivo.cabecera(), objetivo);
+        return objetivo;
+    }
+
+    /**
+     * Desactiva el objetivo de un valor de cabecera.
+     * @return true si existía
+     */
+    public boolean desactivar(String cabecera) {
+        return objetivos.remove(cabecera) != null;
+    }
+
+    public List<ObjetivoDepuracion> activos() {
+        quitarVencidos();
+        return objetivos.values().stream()
+                .sorted(Comparator.comparing(ObjetivoDepuracion::cabecera))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Sin objetivos activos (el caso normal) el filtro no hace nada más que esta comprobación
+        String nivel = objetivos.isEmpty() ? null : nivelPara(request);
+        if (nivel == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        MDC.put(CLAVE_MDC, nivel);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(CLAVE_MDC);
+        }
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private String nivelPara(HttpServletRequest request) {
+        String cabecera = request.getHeader(CABECERA);
+        return cabecera == null ? null : nivelVigente(cabecera.trim());
+    }
+
+    private String nivelVigente(String clave) {
+        ObjetivoDepuracion objetivo = objetivos.get(clave);
+        if (objetivo == null) {
+            return null;
+        }
+        if (objetivo.vence().isBefore(Instant.now())) {
+            objetivos.remove(clave, objetivo);
+            return null;
+        }
+        return objetivo.nivel();
+    }
+
+    private void quitarVencidos() {
+        Instant ahora = Instant.now();
+        objetivos.values().removeIf(objetivo -> objetivo.vence().isBefore(ahora));
+    }
+}
@@ -0,0 +1,93 @@
+package com.docente.gestionnotas.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Diagnóstico de hilos virtuales fijados (pinning). Un hilo virtual que se bloquea dentro de un
+ * bloque synchronized o de código nativo no libera su hilo portador; si eso ocurre en un camino
+ * frecuente (por ejemplo, alrededor de una llamada JDBC) los pocos portadores se agotan y las
+ * solicitudes esperan aunque haya CPU libre.
+ * <p>
+ * Con spring.threads.virtual.enabled=true escucha el evento JFR jdk.VirtualThreadPinned: cada
+ * fijación más larga que el umbral se registra en WARN con la pila que la causó y se cuenta en
+ * el timer gestion.hilos.fijados.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class FijacionHilosVirtuales {
+
+    private static final Logger log = LoggerFactory.getLogger(FijacionHilosVirtuales.class);
+
+    private static final String EVENTO_FIJACION = "jdk.VirtualThreadPinned";
+
+    // Marcos de la pila incluidos en el log de cada fijación
+    private static final int MARCOS_REGISTRADOS = 12;
+
+    private final Duration umbral;
+    private final Timer fijaciones;
+    private RecordingStream grabacion;
+
+    public FijacionHilosVirtuales(MeterRegistry registry,
+                                  @Value("${gestion.hilos.fijacion.umbral-ms:20}") long umbralMs) {
+        this.umbral = Duration.ofMillis(umbralMs);
+        this.fijaciones = Timer.builder("gestion.hilos.fijados")
+                .description("Hilos virtuales fijados a su portador más tiempo que el umbral")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        try {
+            grabacion = new RecordingStream();
+            grabacion.enable(EVENTO_FIJACION).withThreshold(umbral).withStackTrace();
+            grabacion.onEvent(EVENTO_FIJACION, this::registrar);
+            grabacion.startAsync();
+            log.info("Diagnóstico de hilos virtuales fijados activo (umbral {} ms).", umbral.toMillis());
+        } catch (RuntimeException e) {
+            // JFR deshabilitado o no disponible en esta JVM: la aplicación funciona igual, sin diagnóstico
+            log.warn("No se pudo iniciar el diagnóstico de hilos virtuales fijados: {}", e.getMessage());
+            grabacion = null;
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        if (grabacion != null) {
+            grabacion.close();
+        }
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private void registrar(RecordedEvent evento) {
+        fijaciones.record(evento.getDuration());
+        RecordedThread hilo = evento.getThread();
+        String pila = evento.getStackTrace() == null ? "(sin pila)"
+                : evento.getStackTrace().getFrames().stream()
+                        .limit(MARCOS_REGISTRADOS)
+                        .map(FijacionHilosVirtuales::marco)
+                        .collect(Collectors.joining(System.lineSeparator() + "\tat ", "\tat ", ""));
+        log.warn("Hilo virtual {} fijado a su portador durante {} ms:{}{}",
+                hilo == null ? "?" : hilo.getJavaName(), evento.getDuration().toMillis(), System.lineSeparator(), pila);
+    }
+
+    private static String marco(RecordedFrame marco) {
+        return marco.getMethod().getType().getName() + "." + marco.getMethod().getName()
+                + (marco.getLineNumber() > 0 ? ":" + marco.getLineNumber() : "");
+    }
+}
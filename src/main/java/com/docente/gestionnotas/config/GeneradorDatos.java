@@ -0,0 +1,253 @@
+package com.docente.gestionnotas.config;
+
+import com.docente.gestionnotas.model.EstadisticasNotas;
+import com.docente.gestionnotas.model.Nota;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Genera datos sintéticos (cursos, núcleos, notas, alumnos e inscripciones) al iniciar, para
+ * reproducir localmente volúmenes de producción. Se activa con gestion.generador.habilitado=true
+ * (perfil carga) y solo actúa sobre una base sin cursos ni alumnos.
+ * <p>
+ * Las filas se insertan por JDBC en lotes; con la misma semilla y los mismos volúmenes se generan
+ * exactamente los mismos datos. Como corre antes de ApplicationReadyEvent, el índice de búsqueda
+ * de alumnos y las cachés se cargan después, ya con los datos generados.
+ */
+@Component
+@ConditionalOnProperty(name = "gestion.generador.habilitado", havingValue = "true")
+public class GeneradorDatos implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneradorDatos.class);
+
+    private static final String[] MATERIAS = {
+            "Matemática", "Lengua", "Historia", "Geografía", "Biología", "Física", "Química",
+            "Inglés", "Educación Física", "Arte", "Música", "Tecnología"};
+    private static final String[] NOMBRES = {
+            "Sofía", "Martina", "Valentina", "Catalina", "Emma", "Isabella", "Lucía", "Julieta",
+            "Camila", "Victoria", "Mateo", "Santiago", "Benjamín", "Thiago", "Joaquín", "Lautaro",
+            "Tomás", "Felipe", "Bautista", "Nicolás", "Agustín", "Lucas", "Martín", "Juan"};
+    private static final String[] APELLIDOS = {
+            "González", "Rodríguez", "Gómez", "Fernández", "López", "Díaz", "Martínez", "Pérez",
+            "García", "Sánchez", "Romero", "Sosa", "Álvarez", "Torres", "Ruiz", "Ramírez", "Flores",
+            "Acosta", "Benítez", "Medina", "Suárez", "Herrera", "Aguirre", "Pereyra", "Gutiérrez",
+            "Giménez", "Molina", "Silva", "Castro", "Rojas", "Ortiz", "Núñez", "Luna", "Juárez"};
+    private static final String[] TEMAS = {
+            "Unidad", "Trabajo práctico", "Proyecto", "Evaluación integradora", "Laboratorio"};
+
+    private static final String SQL_INSERTAR_CURSO =
+            "INSERT INTO curso (nombre_completo, nombre_materia, descripcion, anio, division) VALUES (?, ?, ?, ?, ?)";
+    private static final String SQL_INSERTAR_NUCLEO =
+            "INSERT INTO nucleo_pedagogico (tema, curso_id, cantidad_notas, suma_notas, nota_minima, nota_maxima, "
+                    + "histograma_notas) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERTAR_NOTA =
+            "INSERT INTO nota (id, valor, descripcion, nucleo_id) VALUES (?, ?, ?, ?)";
+    private static final String SQL_INSERTAR_ALUMNO =
+            "INSERT INTO alumno (nombre, apellido, email, dni, fecha_nacimiento, direccion) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERTAR_INSCRIPCION =
+            "INSERT INTO alumno_curso (alumno_id, curso_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long semilla;
+    private final int cursos;
+    private final int nucleosPorCurso;
+    private final int notasPorNucleo;
+    private final int alumnos;
+    private final int cursosPorAlumno;
+    private final int tamanioLote;
+
+    public GeneradorDatos(JdbcTemplate jdbcTemplate,
+                          @Value("${gestion.generador.semilla:42}") long semilla,
+                          @Value("${gestion.generador.cursos:120}") int cursos,
+                          @Value("${gestion.generador.nucleos-por-curso:8}") int nucleosPorCurso,
+                          @Value("${gestion.generador.notas-por-nucleo:40}") int notasPorNucleo,
+                          @Value("${gestion.generador.alumnos:5000}") int alumnos,
+                          @Value("${gestion.generador.cursos-por-alumno:6}") int cursosPorAlumno,
+                          @Value("${gestion.generador.tamanio-lote:1000}") int tamanioLote) {
+        if (cursos < 0 || nucleosPorCurso < 0 || notasPorNucleo < 0 || alumnos < 0 || cursosPorAlumno < 0) {
+            throw new IllegalArgumentException("Los volúmenes del generador no pueden ser negativos.");
+        }
+        if (tamanioLote < 1) {
+            throw new IllegalArgumentException("gestion.generador.tamanio-lote debe ser mayor que cero.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.semilla = semilla;
+        this.cursos = cursos;
+        this.nucleosPorCurso = nucleosPorCurso;
+        this.notasPorNucleo = notasPorNucleo;
+        this.alumnos = alumnos;
+        this.cursosPorAlumno = cursosPorAlumno;
+        this.tamanioLote = tamanioLote;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long cursosExistentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM curso", Long.class);
+        Long alumnosExistentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM alumno", Long.class);
+        if (cursosExistentes > 0 || alumnosExistentes > 0) {
+            log.warn("Generación de datos omitida: la base ya tiene {} curso(s) y {} alumno(s).",
+                    cursosExistentes, alumnosExistentes);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        Random random = new Random(semilla);
+
+        List<Long> cursoIds = generarCursos();
+        long notas = 0;
+        for (Long cursoId : cursoIds) {
+            notas += generarNucleosYNotas(cursoId, random);
+        }
+        List<Long> alumnoIds = generarAlumnos(random);
+        long inscripciones = generarInscripciones(alumnoIds, cursoIds, random);
+
+        log.info("Datos generados (semilla {}): {} cursos, {} núcleos, {} notas, {} alumnos y {} inscripciones en {} ms.",
+                semilla, cursoIds.size(), (long) cursoIds.size() * nucleosPorCurso, notas, alumnoIds.size(),
+                inscripciones, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    // Cursos de cada materia por año (1º a 6º) y división (A, B, C...): nombres únicos y realistas
+    private List<Long> generarCursos() {
+        int porDivision = MATERIAS.length * 6;
+        List<Object[]> filas = new ArrayList<>(cursos);
+        for (int i = 0; i < cursos; i++) {
+            String materia = MATERIAS[i % MATERIAS.length];
+            int anio = 1 + (i / MATERIAS.length) % 6;
+            String division = division(i / porDivision);
+            String nombreCompleto = materia + " - " + anio + "º " + division;
+            filas.add(new Object[]{nombreCompleto, materia, nombreCompleto, anio, division});
+        }
+        insertarPorLotes(SQL_INSERTAR_CURSO, filas);
+        return jdbcTemplate.queryForList("SELECT id FROM curso ORDER BY id", Long.class);
+    }
+
+    /**
+     * Inserta los núcleos de un curso con sus agregados ya calculados y luego sus notas,
+     * con IDs reservados de la secuencia de Hibernate por bloques.
+     */
+    private long generarNucleosYNotas(Long cursoId, Random random) {
+        List<int[]> valoresPorNucleo = new ArrayList<>(nucleosPorCurso);
+        List<Object[]> filasNucleo = new ArrayList<>(nucleosPorCurso);
+        for (int n = 0; n < nucleosPorCurso; n++) {
+            int[] valores = new int[notasPorNucleo];
+            EstadisticasNotas estadisticas = new EstadisticasNotas();
+            for (int i = 0; i < valores.length; i++) {
+                valores[i] = valorNota(random);
+                estadisticas.registrar(valores[i]);
+            }
+            valoresPorNucleo.add(valores);
+            Long[] histograma = estadisticas.getHistograma() == null ? null
+                    : Arrays.stream(estadisticas.getHistograma()).boxed().toArray(Long[]::new);
+            filasNucleo.add(new Object[]{TEMAS[n % TEMAS.length] + " " + (n / TEMAS.length + 1), cursoId,
+                    estadisticas.getCantidad(), estadisticas.getSuma(), estadisticas.getMinimo(),
+                    estadisticas.getMaximo(), histograma});
+        }
+        insertarPorLotes(SQL_INSERTAR_NUCLEO, filasNucleo);
+        List<Long> nucleoIds = jdbcTemplate.queryForList(
+                "SELECT id FROM nucleo_pedagogico WHERE curso_id = ? ORDER BY id", Long.class, cursoId);
+
+        List<Object[]> lote = new ArrayList<>(tamanioLote);
+        long proximoId = 0;
+        int idsDisponibles = 0;
+        long insertadas = 0;
+        for (int n = 0; n < nucleoIds.size(); n++) {
+            for (int valor : valoresPorNucleo.get(n)) {
+                if (idsDisponibles == 0) {
+                    proximoId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Nota.SECUENCIA_ID, Long.class);
+                    idsDisponibles = Nota.TAMANIO_ASIGNACION_ID;
+                }
+                lote.add(new Object[]{proximoId++, valor, null, nucleoIds.get(n)});
+                idsDisponibles--;
+                if (lote.size() == tamanioLote) {
+                    insertadas += insertarLote(SQL_INSERTAR_NOTA, lote);
+                }
+            }
+        }
+        return insertadas + insertarLote(SQL_INSERTAR_NOTA, lote);
+    }
+
+    private List<Long> generarAlumnos(Random random) {
+        LocalDate nacimientoMinimo = LocalDate.of(2005, 1, 1);
+        List<Object[]> lote = new ArrayList<>(tamanioLote);
+        for (int i = 1; i <= alumnos; i++) {
+            String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+            String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+            lote.add(new Object[]{nombre, apellido, "alumno" + i + "@generado.local", String.valueOf(30_000_000 + i),
+                    nacimientoMinimo.plusDays(random.nextInt(365 * 12)), "Calle " + (1 + random.nextInt(999))});
+            if (lote.size() == tamanioLote) {
+                insertarLote(SQL_INSERTAR_ALUMNO, lote);
+            }
+        }
+        insertarLote(SQL_INSERTAR_ALUMNO, lote);
+        return jdbcTemplate.queryForList("SELECT id FROM alumno ORDER BY id", Long.class);
+    }
+
+    // Cada alumno queda inscrito en cursosPorAlumno cursos distintos elegidos al azar
+    private long generarInscripciones(List<Long> alumnoIds, List<Long> cursoIds, Random random) {
+        int porAlumno = Math.min(cursosPorAlumno, cursoIds.size());
+        int[] indices = new int[cursoIds.size()];
+        Arrays.setAll(indices, i -> i);
+
+        List<Object[]> lote = new ArrayList<>(tamanioLote);
+        long insertadas = 0;
+        for (Long alumnoId : alumnoIds) {
+            // Fisher-Yates parcial: los primeros porAlumno índices quedan elegidos sin repetición
+            for (int i = 0; i < porAlumno; i++) {
+                int j = i + random.nextInt(indices.length - i);
+                int elegido = indices[j];
+                indices[j] = indices[i];
+                indices[i] = elegido;
+                lote.add(new Object[]{alumnoId, cursoIds.get(elegido)});
+                if (lote.size() == tamanioLote) {
+                    insertadas += insertarLote(SQL_INSERTAR_INSCRIPCION, lote);
+                }
+            }
+        }
+        return insertadas + insertarLote(SQL_INSERTAR_INSCRIPCION, lote);
+    }
+
+    private void insertarPorLotes(String sql, List<Object[]> filas) {
+        for (int desde = 0; desde < filas.size(); desde += tamanioLote) {
+            jdbcTemplate.batchUpdate(sql, filas.subList(desde, Math.min(desde + tamanioLote, filas.size())));
+        }
+    }
+
+    private int insertarLote(String sql, List<Object[]> lote) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(sql, lote);
+        int insertadas = lote.size();
+        lote.clear();
+        return insertadas;
+    }
+
+    // Notas concentradas alrededor de 7, como en un curso real
+    private static int valorNota(Random random) {
+        long valor = Math.round(7 + 1.8 * random.nextGaussian());
+        return (int) Math.max(EstadisticasNotas.NOTA_MINIMA, Math.min(EstadisticasNotas.NOTA_MAXIMA, valor));
+    }
+
+    // 0 -> "A", 25 -> "Z", 26 -> "AA"...
+    private static String division(int indice) {
+        StringBuilder division = new StringBuilder();
+        for (int i = indice; i >= 0; i = i / 26 - 1) {
+            division.insert(0, (char) ('A' + i % 26));
+        }
+        return division.toString();
+    }
+}
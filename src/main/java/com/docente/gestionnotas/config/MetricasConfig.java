@@ -0,0 +1,26 @@
+package com.docente.gestionnotas.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas de la aplicación (Micrometer), publicadas en /actuator/metrics y /actuator/prometheus.
+ * Además de las que Spring Boot registra solo (solicitudes HTTP, consultas de repositorios,
+ * pool de HikariCP, estadísticas de Hibernate, cachés), cada método público de los servicios
+ * anotados con {@code @Timed(TIMER_SERVICIOS)} se mide con un timer etiquetado por clase y método.
+ * Así se puede separar el tiempo de una vista entre servicio, consultas y renderizado.
+ */
+@Configuration
+public class MetricasConfig {
+
+    // Timer de los métodos de servicio (etiquetas "class" y "method")
+    public static final String TIMER_SERVICIOS = "gestion.servicio";
+
+    // Aplica @Timed a nivel de clase y de método
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.docente.gestionnotas.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource con un proxy que mide cada sentencia y la pasa a {@link MuestreoSqlListener}.
+ * Se activa con gestion.sql.muestreo.habilitado=true (perfil prod), donde reemplaza a show-sql:
+ * en lugar de imprimir todas las sentencias de forma sincrónica, registra una muestra y las lentas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gestion.sql.muestreo.habilitado", havingValue = "true")
+public class MuestreoSqlConfig {
+
+    // Estático: los BeanPostProcessor se crean antes que el resto de los beans de la configuración
+    @Bean
+    public static BeanPostProcessor muestreoSqlDataSourcePostProcessor(
+            @Value("${gestion.sql.muestreo.cada:100}") long cada,
+            @Value("${gestion.sql.muestreo.umbral-lento-ms:200}") long umbralLentoMs) {
+        MuestreoSqlListener listener = new MuestreoSqlListener(cada, umbralLentoMs);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.docente.gestionnotas.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Registro muestreado de las sentencias SQL, en reemplazo de show-sql.
+ * Se registra una de cada {@code cada} sentencias (INFO) y toda sentencia que tarde
+ * al menos {@code umbralLentoMs} milisegundos (WARN), con sus parámetros y su duración.
+ * Durante una solicitud marcada para depuración (ver {@link DepuracionSelectiva})
+ * se registran todas. El resto de las sentencias no genera texto ni asignaciones.
+ */
+public class MuestreoSqlListener implements QueryExecutionListener {
+
+    // Nombre propio para poder ajustar su nivel sin tocar los logs de Hibernate
+    private static final Logger log = LoggerFactory.getLogger("gestion.sql");
+
+    // Longitud máxima de cada parámetro en el log (evita volcar textos largos)
+    private static final int LARGO_MAXIMO_PARAMETRO = 100;
+
+    private final long cada;
+    private final long umbralLentoMs;
+    private final AtomicLong contador = new AtomicLong();
+
+    public MuestreoSqlListener(long cada, long umbralLentoMs) {
+        if (cada < 1 || umbralLentoMs < 0) {
+            throw new IllegalArgumentException("El muestreo SQL requiere cada >= 1 y umbral >= 0.");
+        }
+        this.cada = cada;
+        this.umbralLentoMs = umbralLentoMs;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Solo interesa el resultado: la duración la mide el proxy
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long duracion = execInfo.getElapsedTime();
+        if (duracion >= umbralLentoMs) {
+            if (log.isWarnEnabled()) {
+                log.warn("SQL lenta ({} ms){}: {}", duracion, detalleLote(execInfo), describir(queryInfoList));
+            }
+        } else if (contador.incrementAndGet() % cada == 0 || MDC.get(DepuracionSelectiva.CLAVE_MDC) != null) {
+            if (log.isInfoEnabled()) {
+                log.info("SQL ({} ms){}: {}", duracion, detalleLote(execInfo), describir(queryInfoList));
+            }
+        }
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private static String detalleLote(ExecutionInfo execInfo) {
+        return execInfo.isBatch() ? " [lote de " + execInfo.getBatchSize() + "]" : "";
+    }
+
+    // Cada sentencia con sus parámetros; de un lote JDBC solo se muestran los del primer elemento
+    private static String describir(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .map(query -> {
+                    List<List<ParameterSetOperation>> parametros = query.getParametersList();
+                    return parametros.isEmpty()
+                            ? query.getQuery()
+                            : query.getQuery() + " " + describirParametros(parametros.get(0));
+                })
+                .collect(Collectors.joining(" | "));
+    }
+
+    private static String describirParametros(List<ParameterSetOperation> operaciones) {
+        return operaciones.stream()
+                .map(operacion -> {
+                    // args = [posición, valor, ...]; en setNull el segundo argumento es el tipo SQL
+                    Object[] args = operacion.getArgs();
+                    if ("setNull".equals(operacion.getMethod().getName())) {
+                        return "null";
+                    }
+                    return args.length > 1 ? recortar(String.valueOf(args[1])) : "?";
+                })
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String recortar(String valor) {
+        return valor.length() <= LARGO_MAXIMO_PARAMETRO ? valor : valor.substring(0, LARGO_MAXIMO_PARAMETRO) + "...";
+    }
+}
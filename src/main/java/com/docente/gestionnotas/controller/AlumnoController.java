@@ -1,35 +1,82 @@
 package com.docente.gestionnotas.controller;
 
+import com.docente.gestionnotas.dto.AlumnoDetalle;
+import com.docente.gestionnotas.dto.AlumnoResumen;
+import com.docente.gestionnotas.dto.PaginaCursor;
+import com.docente.gestionnotas.dto.ResultadoEliminacionMasiva;
 import com.docente.gestionnotas.model.Alumno;
 import com.docente.gestionnotas.service.AlumnoService;
+import com.docente.gestionnotas.service.BusquedaAlumnosService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
 import java.util.List;
 import java.util.NoSuchElementException;
 
+/**
+ * API REST de alumnos.
+ * Las respuestas son proyecciones (DTO) de forma fija; nunca se serializan entidades JPA,
+ * así cada respuesta cuesta un número acotado de consultas.
+ */
 @RestController
 @RequestMapping("/api/alumnos")
 public class AlumnoController {
 
     private final AlumnoService alumnoService;
+    private final BusquedaAlumnosService busquedaAlumnos;
 
-    public AlumnoController(AlumnoService alumnoService) {
+    public AlumnoController(AlumnoService alumnoService, BusquedaAlumnosService busquedaAlumnos) {
         this.alumnoService = alumnoService;
+        this.busquedaAlumnos = busquedaAlumnos;
     }
 
-    // GET /api/alumnos
+    // GET /api/alumnos?cursor={cursor}&tamanio={n}&orden={id|apellido}
     @GetMapping
-    public List<Alumno> getAllAlumnos() {
-        return alumnoService.findAll();
+    public ResponseEntity<PaginaCursor<AlumnoResumen>> getAllAlumnos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanio,
+            @RequestParam(defaultValue = "id") String orden) {
+        try {
+            return ResponseEntity.ok(alumnoService.findPaginaResumen(cursor, tamanio, orden));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 400 por cursor inválido
+        }
+    }
+
+    // GET /api/alumnos/search?q={texto}&limite={n}
+    // Prefijos de apellido, nombre o DNI, ordenados por relevancia (índice en memoria)
+    @GetMapping("/search")
+    public List<AlumnoResumen> searchAlumnos(@RequestParam(defaultValue = "") String q,
+                                             @RequestParam(required = false) Integer limite) {
+        return busquedaAlumnos.buscar(q, limite);
     }
 
     // GET /api/alumnos/{id}
     @GetMapping("/{id}")
-    public ResponseEntity<Alumno> getAlumnoById(@PathVariable Long id) {
+    public ResponseEntity<AlumnoDetalle> getAlumnoById(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(alumnoService.findDetalle(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build(); // 404 Not Found
+        }
+    }
+
+    // GET /api/alumnos/{id}/resumen
+    @GetMapping("/{id}/resumen")
+    public ResponseEntity<AlumnoResumen> getAlumnoResumen(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(AlumnoResumen.de(alumnoService.findById(id)));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build(); // 404 Not Found
+        }
+    }
+
+    // GET /api/alumnos/dni/{dni}
+    @GetMapping("/dni/{dni}")
+    public ResponseEntity<AlumnoResumen> getAlumnoByDni(@PathVariable String dni) {
         try {
-            Alumno alumno = alumnoService.findById(id);
-            return ResponseEntity.ok(alumno);
+            return ResponseEntity.ok(AlumnoResumen.de(alumnoService.findByDni(dni)));
         } catch (NoSuchElementException e) {
             return ResponseEntity.notFound().build(); // 404 Not Found
         }
@@ -37,21 +84,28 @@ public class AlumnoController {
 
     // POST /api/alumnos
     @PostMapping
-    public ResponseEntity<Alumno> createAlumno(@RequestBody Alumno alumno) {
+    public ResponseEntity<AlumnoResumen> createAlumno(@RequestBody Alumno alumno) {
         try {
             Alumno nuevoAlumno = alumnoService.save(alumno);
-            return ResponseEntity.status(HttpStatus.CREATED).body(nuevoAlumno); // 201 Created
+            return ResponseEntity.status(HttpStatus.CREATED).body(AlumnoResumen.de(nuevoAlumno)); // 201 Created
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build(); // 400 Bad Request
         }
     }
 
+    // DELETE /api/alumnos   (cuerpo: [1, 2, 3, ...])
+    // Elimina los alumnos con sus inscripciones mediante sentencias por conjuntos.
+    @DeleteMapping
+    public ResultadoEliminacionMasiva deleteAlumnos(@RequestBody List<Long> alumnoIds) {
+        return alumnoService.eliminarEnLote(alumnoIds);
+    }
+
     // POST /api/alumnos/{alumnoId}/inscribir/{cursoId}
     @PostMapping("/{alumnoId}/inscribir/{cursoId}")
-    public ResponseEntity<Alumno> inscribirAlumno(@PathVariable long alumnoId, @PathVariable Long cursoId) {
+    public ResponseEntity<AlumnoDetalle> inscribirAlumno(@PathVariable long alumnoId, @PathVariable Long cursoId) {
         try {
-            Alumno alumnoActualizado = alumnoService.inscribirAlumnoACurso(alumnoId, cursoId);
-            return ResponseEntity.ok(alumnoActualizado);
+            alumnoService.inscribirAlumnoACurso(alumnoId, cursoId);
+            return ResponseEntity.ok(alumnoService.findDetalle(alumnoId));
         } catch (NoSuchElementException e) {
             return ResponseEntity.notFound().build(); // 404 Not Found
         }
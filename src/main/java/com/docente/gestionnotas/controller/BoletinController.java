@@ -0,0 +1,95 @@
+package com.docente.gestionnotas.controller;
+
+import com.docente.gestionnotas.dto.EstadoTrabajoBoletines;
+import com.docente.gestionnotas.service.BoletinesService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * API REST de boletines: los trabajos de generación se encolan y se consultan por ID
+ * hasta que sus archivos (HTML y CSV) quedan listos para descargar.
+ */
+@RestController
+@RequestMapping("/api/boletines")
+public class BoletinController {
+
+    private final BoletinesService boletinesService;
+
+    public BoletinController(BoletinesService boletinesService) {
+        this.boletinesService = boletinesService;
+    }
+
+    // POST /api/boletines?anio={n}&division={d}
+    // Encola la generación para los cursos del año y/o la división; responde 202 con el estado del trabajo.
+    // 503 si la cola de trabajos está llena.
+    @PostMapping
+    public ResponseEntity<EstadoTrabajoBoletines> iniciar(@RequestParam(required = false) Integer anio,
+                                                          @RequestParam(required = false) String division) {
+        try {
+            EstadoTrabajoBoletines trabajo = boletinesService.iniciar(anio, division);
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                            .path("/{id}").buildAndExpand(trabajo.id()).toUri())
+                    .body(trabajo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // GET /api/boletines
+    // Trabajos registrados, del más reciente al más antiguo
+    @GetMapping
+    public List<EstadoTrabajoBoletines> getAllTrabajos() {
+        return boletinesService.findAll();
+    }
+
+    // GET /api/boletines/{id}
+    // Estado y avance del trabajo (cursos procesados y porcentaje)
+    @GetMapping("/{id}")
+    public ResponseEntity<EstadoTrabajoBoletines> getTrabajo(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(boletinesService.findEstado(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // GET /api/boletines/{id}/archivo?formato={html|csv}
+    // 409 si el trabajo todavía no se completó (o falló)
+    @GetMapping("/{id}/archivo")
+    public ResponseEntity<Resource> descargar(@PathVariable String id,
+                                              @RequestParam(defaultValue = "html") String formato) {
+        try {
+            Path archivo = boletinesService.findArchivo(id, formato);
+            MediaType tipo = archivo.getFileName().toString().endsWith(".csv")
+                    ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                    : MediaType.parseMediaType("text/html;charset=UTF-8");
+            return ResponseEntity.ok()
+                    .contentType(tipo)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(archivo.getFileName().toString())
+                            .build()
+                            .toString())
+                    .body(new FileSystemResource(archivo));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -1,42 +1,182 @@
 package com.docente.gestionnotas.controller;
 
+import com.docente.gestionnotas.dto.AlumnoResumen;
+import com.docente.gestionnotas.dto.CursoConNotas;
+import com.docente.gestionnotas.dto.CursoDetalle;
+import com.docente.gestionnotas.dto.CursoListado;
+import com.docente.gestionnotas.dto.CursoResumen;
+import com.docente.gestionnotas.dto.EstadisticasCurso;
+import com.docente.gestionnotas.dto.FiltroCursos;
+import com.docente.gestionnotas.dto.ResultadoEliminacionMasiva;
+import com.docente.gestionnotas.dto.ResultadoInscripcionMasiva;
 import com.docente.gestionnotas.model.Curso;
 import com.docente.gestionnotas.model.NucleoPedagogico;
+import com.docente.gestionnotas.service.AlumnoService;
 import com.docente.gestionnotas.service.CursoService;
+import com.docente.gestionnotas.service.ExportacionNotasService;
 import com.docente.gestionnotas.service.NucleoPedagogicoService;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.util.List;
 import java.util.NoSuchElementException;
 
+/**
+ * API REST de cursos.
+ * Cada forma de respuesta (resumen, detalle, con notas) tiene su propio endpoint
+ * y se arma con proyecciones DTO en lugar de serializar el grafo de entidades.
+ */
 @RestController
 @RequestMapping("/api/cursos")
 public class CursoController {
 
     private final CursoService cursoService;
     private final NucleoPedagogicoService nucleoService;
+    private final AlumnoService alumnoService;
+    private final ExportacionNotasService exportacionService;
 
-    public CursoController(CursoService cursoService, NucleoPedagogicoService nucleoService) {
+    public CursoController(CursoService cursoService,
+                           NucleoPedagogicoService nucleoService,
+                           AlumnoService alumnoService,
+                           ExportacionNotasService exportacionService) {
         this.cursoService = cursoService;
         this.nucleoService = nucleoService;
+        this.alumnoService = alumnoService;
+        this.exportacionService = exportacionService;
+    }
+
+    // GET /api/cursos?anio={n}&division={d}&materia={prefijo}&pagina={n}&tamanio={n}
+    // Todos los filtros son opcionales; el orden es año, división y materia.
+    // Cada curso incluye la cantidad de alumnos, núcleos y notas.
+    @GetMapping
+    public PagedModel<CursoListado> getAllCursos(@RequestParam(required = false) Integer anio,
+                                                 @RequestParam(required = false) String division,
+                                                 @RequestParam(required = false) String materia,
+                                                 @RequestParam(defaultValue = "0") int pagina,
+                                                 @RequestParam(required = false) Integer tamanio) {
+        return new PagedModel<>(cursoService.buscarListado(new FiltroCursos(anio, division, materia), pagina, tamanio));
     }
 
     // POST /api/cursos
     @PostMapping
-    public ResponseEntity<Curso> createCurso(@RequestBody Curso curso) {
+    public ResponseEntity<CursoResumen> createCurso(@RequestBody Curso curso) {
         // Validación básica de datos obligatorios, si falta algún campo único/obligatorio, Spring lo gestiona.
         if (curso.getNombreCompleto() == null || curso.getNombreCompleto().isEmpty()) {
             return ResponseEntity.badRequest().build(); // 400 Bad Request
         }
         Curso nuevoCurso = cursoService.save(curso);
-        return ResponseEntity.status(HttpStatus.CREATED).body(nuevoCurso);
+        return ResponseEntity.status(HttpStatus.CREATED).body(CursoResumen.de(nuevoCurso));
+    }
+
+    // DELETE /api/cursos   (cuerpo: [1, 2, 3, ...])
+    // Elimina los cursos con sus núcleos, notas e inscripciones mediante sentencias por conjuntos.
+    @DeleteMapping
+    public ResultadoEliminacionMasiva deleteCursos(@RequestBody List<Long> cursoIds) {
+        return cursoService.eliminarEnLote(cursoIds);
     }
 
     // GET /api/cursos/{id}
     @GetMapping("/{id}")
-    public ResponseEntity<Curso> getCursoById(@PathVariable Long id) {
+    public ResponseEntity<CursoDetalle> getCursoById(@PathVariable Long id) {
         try {
-            return ResponseEntity.ok(cursoService.findById(id));
+            return ResponseEntity.ok(cursoService.findDetalle(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // GET /api/cursos/{id}/resumen
+    @GetMapping("/{id}/resumen")
+    public ResponseEntity<CursoResumen> getCursoResumen(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(cursoService.findResumen(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // GET /api/cursos/{id}/notas
+    @GetMapping("/{id}/notas")
+    public ResponseEntity<CursoConNotas> getCursoConNotas(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(cursoService.findConNotas(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // GET /api/cursos/{id}/planilla?formato={csv|xlsx}
+    // Planilla de notas del curso, escrita a medida que se leen las notas (sin cargarlas en memoria)
+    @GetMapping("/{id}/planilla")
+    public ResponseEntity<StreamingResponseBody> exportarPlanilla(@PathVariable Long id,
+                                                                  @RequestParam(defaultValue = "csv") String formato) {
+        try {
+            ExportacionNotasService.Formato tipo = ExportacionNotasService.Formato.de(formato);
+            cursoService.findResumen(id); // 404 antes de empezar a escribir la respuesta
+            return adjunto("notas-curso-" + id, tipo,
+                    salida -> exportacionService.exportarCurso(id, tipo, salida));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/cursos/planilla?formato={csv|xlsx}
+    // Planilla de notas de todos los cursos, ordenados por año, división y materia.
+    // 503 si ya hay gestion.exportacion.simultaneas exportaciones en curso.
+    @GetMapping("/planilla")
+    public ResponseEntity<StreamingResponseBody> exportarPlanillaCompleta(
+            @RequestParam(defaultValue = "csv") String formato) {
+        ExportacionNotasService.Formato tipo;
+        try {
+            tipo = ExportacionNotasService.Formato.de(formato);
+            exportacionService.reservarExportacionCompleta();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return adjunto("notas-cursos", tipo, salida -> {
+            try {
+                exportacionService.exportarTodos(tipo, salida);
+            } finally {
+                exportacionService.liberarExportacionCompleta();
+            }
+        });
+    }
+
+    // GET /api/cursos/{id}/alumnos
+    @GetMapping("/{id}/alumnos")
+    public ResponseEntity<List<AlumnoResumen>> getAlumnosDeCurso(@PathVariable Long id) {
+        try {
+            cursoService.findResumen(id); // 404 si el curso no existe
+            return ResponseEntity.ok(alumnoService.findResumenByCurso(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // GET /api/cursos/{id}/alumnos/disponibles?q={prefijo}&limite={n}
+    // Alumnos no inscritos en el curso, para autocompletar el formulario de inscripción.
+    @GetMapping("/{id}/alumnos/disponibles")
+    public List<AlumnoResumen> getAlumnosDisponibles(@PathVariable Long id,
+                                                     @RequestParam(required = false) String q,
+                                                     @RequestParam(required = false) Integer limite) {
+        return alumnoService.buscarNoInscritos(id, q, limite);
+    }
+
+    // POST /api/cursos/{id}/alumnos:batch   (cuerpo: [1, 2, 3, ...])
+    @PostMapping("/{id}/alumnos:batch")
+    public ResponseEntity<ResultadoInscripcionMasiva> inscribirAlumnosEnLote(@PathVariable Long id,
+                                                                            @RequestBody List<Long> alumnoIds) {
+        try {
+            return ResponseEntity.ok(alumnoService.inscribirAlumnosACurso(id, alumnoIds));
         } catch (NoSuchElementException e) {
             return ResponseEntity.notFound().build();
         }
@@ -44,10 +184,20 @@ public class CursoController {
 
     // POST /api/cursos/{cursoId}/nucleos
     @PostMapping("/{cursoId}/nucleos")
-    public ResponseEntity<Curso> addNucleoToCurso(@PathVariable Long cursoId, @RequestBody NucleoPedagogico nucleo) {
+    public ResponseEntity<CursoDetalle> addNucleoToCurso(@PathVariable Long cursoId, @RequestBody NucleoPedagogico nucleo) {
+        try {
+            nucleoService.crearNucleo(cursoId, nucleo);
+            return ResponseEntity.ok(cursoService.findDetalle(cursoId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // GET /api/cursos/{id}/estadisticas
+    @GetMapping("/{id}/estadisticas")
+    public ResponseEntity<EstadisticasCurso> getEstadisticasCurso(@PathVariable Long id) {
         try {
-            Curso cursoActualizado = nucleoService.crearNucleo(cursoId, nucleo);
-            return ResponseEntity.ok(cursoActualizado);
+            return ResponseEntity.ok(cursoService.calcularEstadisticas(id));
         } catch (NoSuchElementException e) {
             return ResponseEntity.notFound().build();
         }
@@ -63,4 +213,17 @@ public class CursoController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private static ResponseEntity<StreamingResponseBody> adjunto(String nombre, ExportacionNotasService.Formato formato,
+                                                                 StreamingResponseBody cuerpo) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getTipoContenido()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(nombre + "." + formato.getExtension())
+                        .build()
+                        .toString())
+                .body(cuerpo);
+    }
+}
@@ -1,11 +1,25 @@
 package com.docente.gestionnotas.controller;
 
-import com.docente.gestionnotas.model.NucleoPedagogico;
+import com.docente.gestionnotas.dto.EstadisticasNucleo;
+import com.docente.gestionnotas.dto.NotaResumen;
+import com.docente.gestionnotas.dto.NucleoConNotas;
+import com.docente.gestionnotas.dto.ResultadoEliminacionMasiva;
+import com.docente.gestionnotas.dto.ResultadoImportacion;
+import com.docente.gestionnotas.dto.ResultadoVerificacionEstadisticas;
 import com.docente.gestionnotas.model.Nota;
+import com.docente.gestionnotas.service.EstadisticasNotasService;
 import com.docente.gestionnotas.service.NotaService;
-import org.springframework.http.HttpStatus;
+import com.docente.gestionnotas.service.NucleoPedagogicoService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 @RestController
@@ -13,21 +27,104 @@ import java.util.NoSuchElementException;
 public class NotaController {
 
     private final NotaService notaService;
+    private final NucleoPedagogicoService nucleoService;
+    private final EstadisticasNotasService estadisticasService;
 
-    public NotaController(NotaService notaService) {
+    public NotaController(NotaService notaService,
+                          NucleoPedagogicoService nucleoService,
+                          EstadisticasNotasService estadisticasService) {
         this.notaService = notaService;
+        this.nucleoService = nucleoService;
+        this.estadisticasService = estadisticasService;
+    }
+
+    // DELETE /api/nucleos   (cuerpo: [1, 2, 3, ...])
+    // Elimina los núcleos con sus notas mediante sentencias por conjuntos.
+    @DeleteMapping
+    public ResultadoEliminacionMasiva deleteNucleos(@RequestBody List<Long> nucleoIds) {
+        return nucleoService.eliminarEnLote(nucleoIds);
+    }
+
+    // GET /api/nucleos/{nucleoId}/notas
+    @GetMapping("/{nucleoId}/notas")
+    public ResponseEntity<NucleoConNotas> getNotasDeNucleo(@PathVariable Long nucleoId) {
+        try {
+            return ResponseEntity.ok(nucleoService.findConNotas(nucleoId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build(); // 404
+        }
     }
 
     // POST /api/nucleos/{nucleoId}/notas
+    // Responde 201 con la nota creada (no con el núcleo: releer todas sus notas haría cada alta O(n)).
     @PostMapping("/{nucleoId}/notas")
-    public ResponseEntity<NucleoPedagogico> addNotaToNucleo(@PathVariable Long nucleoId, @RequestBody Nota nota) {
+    public ResponseEntity<NotaResumen> addNotaToNucleo(@PathVariable Long nucleoId, @RequestBody Nota nota) {
         try {
-            NucleoPedagogico nucleoActualizado = notaService.agregarNotaANucleo(nucleoId, nota);
-            return ResponseEntity.status(HttpStatus.CREATED).body(nucleoActualizado);
+            Nota creada = notaService.agregarNotaANucleo(nucleoId, nota);
+            return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/api/nucleos/notas/{id}").buildAndExpand(creada.getId()).toUri())
+                    .body(new NotaResumen(creada.getId(), nucleoId, creada.getValor(), creada.getDescripcion()));
         } catch (NoSuchElementException e) {
             return ResponseEntity.notFound().build(); // 404
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(null); // 400 por nota fuera de rango (1-10)
         }
     }
+
+    // GET /api/nucleos/notas/{notaId}
+    @GetMapping("/notas/{notaId}")
+    public ResponseEntity<NotaResumen> getNota(@PathVariable Long notaId) {
+        try {
+            return ResponseEntity.ok(notaService.findResumenById(notaId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build(); // 404
+        }
+    }
+
+    // PUT /api/nucleos/notas/{notaId}
+    @PutMapping("/notas/{notaId}")
+    public ResponseEntity<NotaResumen> updateNota(@PathVariable Long notaId, @RequestBody Nota nota) {
+        try {
+            Nota actualizada = notaService.actualizarNota(notaId, nota.getValor(), nota.getDescripcion());
+            return ResponseEntity.ok(new NotaResumen(actualizada.getId(), null,
+                    actualizada.getValor(), actualizada.getDescripcion()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build(); // 404
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 400 por nota fuera de rango (1-10)
+        }
+    }
+
+    // GET /api/nucleos/{nucleoId}/estadisticas
+    @GetMapping("/{nucleoId}/estadisticas")
+    public ResponseEntity<EstadisticasNucleo> getEstadisticas(@PathVariable Long nucleoId) {
+        try {
+            return ResponseEntity.ok(estadisticasService.findByNucleo(nucleoId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build(); // 404
+        }
+    }
+
+    // POST /api/nucleos/estadisticas/verificar
+    // Recalcula desde la tabla nota y corrige los agregados que no coincidan.
+    @PostMapping("/estadisticas/verificar")
+    public ResultadoVerificacionEstadisticas verificarEstadisticas() {
+        return estadisticasService.verificarYCorregir();
+    }
+
+    // POST /api/nucleos/notas/importar   (Content-Type: text/csv, filas "nucleoId,valor,descripcion")
+    // El cuerpo se lee como flujo, sin almacenarlo completo en memoria.
+    @PostMapping(value = "/notas/importar", consumes = "text/csv")
+    public ResponseEntity<ResultadoImportacion> importarNotasCsv(InputStream cuerpo) throws IOException {
+        return ResponseEntity.ok(notaService.importarCsv(new InputStreamReader(cuerpo, StandardCharsets.UTF_8)));
+    }
+
+    // POST /api/nucleos/notas/importar   (multipart/form-data, campo "archivo")
+    @PostMapping(value = "/notas/importar", consumes = "multipart/form-data")
+    public ResponseEntity<ResultadoImportacion> importarNotasArchivo(@RequestParam("archivo") MultipartFile archivo)
+            throws IOException {
+        try (InputStream entrada = archivo.getInputStream()) {
+            return ResponseEntity.ok(notaService.importarCsv(new InputStreamReader(entrada, StandardCharsets.UTF_8)));
+        }
+    }
 }
\ No newline at end of file
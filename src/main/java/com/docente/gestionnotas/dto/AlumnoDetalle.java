@@ -0,0 +1,19 @@
+package com.docente.gestionnotas.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Vista de detalle de un alumno: datos personales más el resumen de los cursos
+ * en los que está inscrito (sin alumnos ni núcleos de esos cursos).
+ */
+public record AlumnoDetalle(
+        Long id,
+        String nombre,
+        String apellido,
+        String dni,
+        String email,
+        LocalDate fechaNacimiento,
+        String direccion,
+        List<CursoResumen> cursos) {
+}
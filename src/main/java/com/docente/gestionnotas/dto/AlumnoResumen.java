@@ -0,0 +1,24 @@
+package com.docente.gestionnotas.dto;
+
+import com.docente.gestionnotas.model.Alumno;
+
+/**
+ * Vista resumida de un alumno: solo sus datos personales, sin relaciones.
+ * Se construye directamente desde JPQL (constructor expression), por lo que
+ * nunca dispara cargas perezosas de cursos.
+ */
+public record AlumnoResumen(
+        Long id,
+        String nombre,
+        String apellido,
+        String dni,
+        String email) {
+
+    /**
+     * Construye el resumen a partir de una entidad ya cargada (solo lee columnas simples).
+     */
+    public static AlumnoResumen de(Alumno alumno) {
+        return new AlumnoResumen(alumno.getId(), alumno.getNombre(), alumno.getApellido(),
+                alumno.getDni(), alumno.getEmail());
+    }
+}
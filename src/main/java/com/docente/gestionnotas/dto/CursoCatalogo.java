@@ -0,0 +1,12 @@
+package com.docente.gestionnotas.dto;
+
+/**
+ * Entrada del catálogo de cursos: lo mínimo para listarlos o elegir uno en un desplegable.
+ * El catálogo completo se mantiene en caché (ver {@code CacheConfig}).
+ */
+public record CursoCatalogo(
+        Long id,
+        String nombreCompleto,
+        int anio,
+        String division) {
+}
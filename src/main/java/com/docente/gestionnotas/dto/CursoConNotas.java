@@ -0,0 +1,12 @@
+package com.docente.gestionnotas.dto;
+
+import java.util.List;
+
+/**
+ * Vista de un curso con todos sus núcleos y las notas de cada uno.
+ */
+public record CursoConNotas(
+        Long id,
+        String nombreCompleto,
+        List<NucleoConNotas> nucleos) {
+}
@@ -0,0 +1,17 @@
+package com.docente.gestionnotas.dto;
+
+import java.util.List;
+
+/**
+ * Vista de detalle de un curso: datos del curso, cantidad de alumnos inscritos
+ * y el resumen de sus núcleos pedagógicos (sin notas).
+ */
+public record CursoDetalle(
+        Long id,
+        String nombreCompleto,
+        String nombreMateria,
+        int anio,
+        String division,
+        long cantidadAlumnos,
+        List<NucleoResumen> nucleos) {
+}
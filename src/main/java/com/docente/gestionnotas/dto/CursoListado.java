@@ -0,0 +1,16 @@
+package com.docente.gestionnotas.dto;
+
+/**
+ * Fila del listado de cursos: datos propios del curso y cantidades precalculadas
+ * en la misma consulta agrupada (sin inicializar las colecciones del curso).
+ */
+public record CursoListado(
+        Long id,
+        String nombreCompleto,
+        String nombreMateria,
+        int anio,
+        String division,
+        long cantidadAlumnos,
+        long cantidadNucleos,
+        long cantidadNotas) {
+}
@@ -0,0 +1,22 @@
+package com.docente.gestionnotas.dto;
+
+import com.docente.gestionnotas.model.Curso;
+
+/**
+ * Vista resumida de un curso: solo sus columnas propias, sin núcleos ni alumnos.
+ */
+public record CursoResumen(
+        Long id,
+        String nombreCompleto,
+        String nombreMateria,
+        int anio,
+        String division) {
+
+    /**
+     * Construye el resumen a partir de una entidad ya cargada (solo lee columnas simples).
+     */
+    public static CursoResumen de(Curso curso) {
+        return new CursoResumen(curso.getId(), curso.getNombreCompleto(), curso.getNombreMateria(),
+                curso.getAnio(), curso.getDivision());
+    }
+}
@@ -0,0 +1,50 @@
+package com.docente.gestionnotas.dto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estadísticas de notas de un curso completo, calculadas en la base con una sola consulta agrupada.
+ *
+ * @param nucleos            estadísticas por núcleo (incluye núcleos sin notas)
+ * @param cantidadNotas      total de notas del curso
+ * @param promedio           promedio de todas las notas del curso, o null si no hay notas
+ * @param desviacionEstandar desviación estándar poblacional de todas las notas, o null si no hay notas
+ */
+public record EstadisticasCurso(
+        Long cursoId,
+        String nombreCompleto,
+        List<Nucleo> nucleos,
+        long cantidadNotas,
+        Double promedio,
+        Integer minimo,
+        Integer maximo,
+        Double desviacionEstandar) {
+
+    /**
+     * Promedio de cada núcleo con notas, indexado por ID (formato que usa cursos/detalles.html).
+     */
+    public Map<Long, Double> promediosPorNucleo() {
+        Map<Long, Double> promedios = new HashMap<>();
+        for (Nucleo nucleo : nucleos) {
+            if (nucleo.promedio() != null) {
+                promedios.put(nucleo.nucleoId(), nucleo.promedio());
+            }
+        }
+        return promedios;
+    }
+
+    /**
+     * Estadísticas de un núcleo dentro del curso. Los valores son null si el núcleo no tiene notas.
+     */
+    public record Nucleo(
+            Long nucleoId,
+            String tema,
+            long cantidad,
+            Double promedio,
+            Integer minimo,
+            Integer maximo,
+            Double desviacionEstandar) {
+    }
+}
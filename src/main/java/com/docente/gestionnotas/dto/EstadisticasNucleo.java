@@ -0,0 +1,27 @@
+package com.docente.gestionnotas.dto;
+
+import com.docente.gestionnotas.model.EstadisticasNotas;
+
+/**
+ * Estadísticas de las notas de un núcleo, servidas desde los agregados
+ * sin consultar la tabla nota.
+ *
+ * @param histograma histograma[i] = cantidad de notas con valor i + 1
+ */
+public record EstadisticasNucleo(
+        Long nucleoId,
+        long cantidad,
+        double promedio,
+        Integer minimo,
+        Integer maximo,
+        double mediana,
+        int percentil25,
+        int percentil75,
+        int percentil90,
+        long[] histograma) {
+
+    public static EstadisticasNucleo de(Long nucleoId, EstadisticasNotas e) {
+        return new EstadisticasNucleo(nucleoId, e.getCantidad(), e.promedio(), e.getMinimo(), e.getMaximo(),
+                e.mediana(), e.percentil(25), e.percentil(75), e.percentil(90), e.getHistograma());
+    }
+}
@@ -0,0 +1,36 @@
+package com.docente.gestionnotas.dto;
+
+import java.time.Instant;
+
+/**
+ * Estado de un trabajo de generación de boletines, para consultar su avance.
+ *
+ * @param anio             año de los cursos incluidos, o null si no se filtró por año
+ * @param division         división de los cursos incluidos, o null si no se filtró por división
+ * @param cursosTotales    cursos (particiones) del trabajo
+ * @param cursosProcesados cursos ya calculados
+ * @param porcentaje       avance de 0 a 100 (100 solo cuando los archivos ya están escritos)
+ * @param alumnos          boletines generados (disponible al completarse)
+ * @param error            causa del fallo, si el estado es FALLIDO
+ */
+public record EstadoTrabajoBoletines(
+        String id,
+        Estado estado,
+        Integer anio,
+        String division,
+        int cursosTotales,
+        int cursosProcesados,
+        int porcentaje,
+        int alumnos,
+        Instant creado,
+        Instant iniciado,
+        Instant finalizado,
+        String error) {
+
+    public enum Estado {
+        PENDIENTE,
+        EN_PROCESO,
+        COMPLETADO,
+        FALLIDO
+    }
+}
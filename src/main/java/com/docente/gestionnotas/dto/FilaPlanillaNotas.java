@@ -0,0 +1,18 @@
+package com.docente.gestionnotas.dto;
+
+/**
+ * Fila de la planilla de notas: una nota con los datos de su núcleo y de su curso,
+ * leída con una sola consulta para exportar sin consultar núcleo por núcleo.
+ */
+public record FilaPlanillaNotas(
+        Long cursoId,
+        String curso,
+        String materia,
+        int anio,
+        String division,
+        Long nucleoId,
+        String nucleo,
+        Long notaId,
+        Integer valor,
+        String descripcion) {
+}
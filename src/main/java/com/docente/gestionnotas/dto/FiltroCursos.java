@@ -0,0 +1,14 @@
+package com.docente.gestionnotas.dto;
+
+/**
+ * Filtros opcionales del listado de cursos; un valor nulo o vacío no filtra.
+ *
+ * @param anio     año exacto
+ * @param division división exacta (sin distinguir mayúsculas)
+ * @param materia  prefijo del nombre de la materia (sin distinguir mayúsculas)
+ */
+public record FiltroCursos(
+        Integer anio,
+        String division,
+        String materia) {
+}
@@ -0,0 +1,12 @@
+package com.docente.gestionnotas.dto;
+
+/**
+ * Vista de una nota. Incluye el ID del núcleo para poder agrupar
+ * en memoria las notas obtenidas con una sola consulta.
+ */
+public record NotaResumen(
+        Long id,
+        Long nucleoId,
+        Integer valor,
+        String descripcion) {
+}
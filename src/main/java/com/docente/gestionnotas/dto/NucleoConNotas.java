@@ -0,0 +1,13 @@
+package com.docente.gestionnotas.dto;
+
+import java.util.List;
+
+/**
+ * Vista de un núcleo pedagógico junto con sus notas.
+ */
+public record NucleoConNotas(
+        Long id,
+        String tema,
+        String descripcion,
+        List<NotaResumen> notas) {
+}
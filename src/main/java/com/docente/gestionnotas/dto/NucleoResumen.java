@@ -0,0 +1,11 @@
+package com.docente.gestionnotas.dto;
+
+/**
+ * Vista resumida de un núcleo pedagógico, sin sus notas.
+ */
+public record NucleoResumen(
+        Long id,
+        Long cursoId,
+        String tema,
+        String descripcion) {
+}
@@ -0,0 +1,13 @@
+package com.docente.gestionnotas.dto;
+
+import java.time.Instant;
+
+/**
+ * Solicitudes con el nivel de log elevado (ver actuator /actuator/depuracion).
+ *
+ * @param cabecera valor de la cabecera X-Depuracion que activa la depuración
+ * @param nivel    nivel de log aplicado a esas solicitudes (DEBUG o TRACE)
+ * @param vence    momento a partir del cual deja de aplicarse
+ */
+public record ObjetivoDepuracion(String cabecera, String nivel, Instant vence) {
+}
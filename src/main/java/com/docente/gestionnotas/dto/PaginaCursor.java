@@ -0,0 +1,20 @@
+package com.docente.gestionnotas.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida por paginación de tipo keyset (cursor).
+ * En lugar de un número de página se devuelve el cursor a partir del cual
+ * debe pedirse la página siguiente, de modo que el costo de cada consulta
+ * no depende de cuántas filas hay antes.
+ *
+ * @param contenido       elementos de la página actual
+ * @param siguienteCursor cursor para solicitar la siguiente página, o null si no hay más
+ * @param tamanio         tamaño de página solicitado
+ */
+public record PaginaCursor<T>(List<T> contenido, String siguienteCursor, int tamanio) {
+
+    public boolean hayMas() {
+        return siguienteCursor != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.docente.gestionnotas.dto;
+
+/**
+ * Resultado de una eliminación masiva de cursos, núcleos o alumnos.
+ * Las filas dependientes se eliminan con sentencias por conjuntos, sin cargar entidades.
+ *
+ * @param solicitados             cantidad de IDs distintos recibidos
+ * @param eliminados              cantidad de entidades efectivamente eliminadas
+ * @param noEncontrados           cantidad de IDs que no correspondían a ninguna entidad
+ * @param nucleosEliminados       núcleos eliminados junto con sus cursos
+ * @param notasEliminadas         notas eliminadas junto con sus núcleos
+ * @param inscripcionesEliminadas filas de alumno_curso eliminadas
+ */
+public record ResultadoEliminacionMasiva(
+        int solicitados,
+        int eliminados,
+        int noEncontrados,
+        int nucleosEliminados,
+        int notasEliminadas,
+        int inscripcionesEliminadas) {
+}
@@ -0,0 +1,18 @@
+package com.docente.gestionnotas.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de notas desde CSV.
+ *
+ * @param filasLeidas     filas de datos procesadas (sin contar el encabezado)
+ * @param notasImportadas notas insertadas
+ * @param filasConError   filas rechazadas por errores de validación
+ * @param errores         detalle de los primeros errores (la lista está acotada)
+ */
+public record ResultadoImportacion(
+        int filasLeidas,
+        int notasImportadas,
+        int filasConError,
+        List<String> errores) {
+}
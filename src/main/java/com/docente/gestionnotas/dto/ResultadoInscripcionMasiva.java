@@ -0,0 +1,29 @@
+package com.docente.gestionnotas.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una inscripción masiva de alumnos a un curso.
+ *
+ * @param cursoId       curso destino
+ * @param inscritos     cantidad de alumnos efectivamente inscritos
+ * @param yaInscritos   cantidad de alumnos que ya estaban inscritos (se omiten)
+ * @param noEncontrados cantidad de IDs que no corresponden a ningún alumno
+ * @param resultados    resultado individual de cada ID solicitado
+ */
+public record ResultadoInscripcionMasiva(
+        Long cursoId,
+        int inscritos,
+        int yaInscritos,
+        int noEncontrados,
+        List<Item> resultados) {
+
+    public enum Estado {
+        INSCRITO,
+        YA_INSCRITO,
+        NO_ENCONTRADO
+    }
+
+    public record Item(Long alumnoId, Estado estado) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.docente.gestionnotas.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de verificar los agregados de notas contra la tabla nota.
+ *
+ * @param nucleosRevisados  cantidad de núcleos comparados
+ * @param nucleosCorregidos IDs de los núcleos cuyos agregados tenían diferencias y fueron reconstruidos
+ */
+public record ResultadoVerificacionEstadisticas(
+        int nucleosRevisados,
+        List<Long> nucleosCorregidos) {
+}
@@ -2,26 +2,46 @@ package com.docente.gestionnotas.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * Entidad que representa un Alumno.
  * Un alumno puede estar inscrito en múltiples cursos.
+ * La igualdad se basa en el ID (ver {@link #equals(Object)}), nunca en las colecciones.
+ * Se guarda en la caché de segundo nivel para que la colección cacheada Curso.alumnos
+ * (que solo contiene IDs) no obligue a leer cada alumno de la base.
  */
 @Entity
-@Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Alumno.REGION_CACHE)
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = Alumno.UK_DNI, columnNames = "dni"),
+        @UniqueConstraint(name = Alumno.UK_EMAIL, columnNames = "email")
+})
+@NamedEntityGraph(name = "Alumno.conCursos", attributeNodes = @NamedAttributeNode("cursos"))
+@Getter
+@Setter
+@ToString(exclude = "cursos")
 @NoArgsConstructor
-@AllArgsConstructor
 public class Alumno {
 
+    // Nombres de las restricciones únicas (se usan para traducir las violaciones a mensajes)
+    public static final String UK_DNI = "uk_alumno_dni";
+    public static final String UK_EMAIL = "uk_alumno_email";
+
+    // Región de la caché de segundo nivel
+    public static final String REGION_CACHE = "alumno";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY) // Esta línea es CRÍTICA
     private Long id;
@@ -51,13 +71,15 @@ public class Alumno {
     private String direccion;
 
     // Relación Muchos a Muchos: Un alumno está en múltiples cursos
+    // Set: la pertenencia se comprueba en O(1) y Hibernate no borra y reinserta toda la tabla intermedia.
     @ManyToMany
     @JoinTable(
             name = "alumno_curso",
             joinColumns = @JoinColumn(name = "alumno_id"),
             inverseJoinColumns = @JoinColumn(name = "curso_id")
     )
-    private List<Curso> cursos = new ArrayList<>();
+    @OrderBy("nombreCompleto")
+    private Set<Curso> cursos = new LinkedHashSet<>();
 
     /**
      * Obtiene el nombre completo del alumno.
@@ -65,4 +87,26 @@ public class Alumno {
     public String getNombreCompleto() {
         return nombre + " " + apellido;
     }
+
+    /**
+     * Dos alumnos son iguales si son la misma instancia o si tienen el mismo ID.
+     * El DNI no sirve como clave porque se puede corregir desde el formulario de edición.
+     * El hashCode es el del ID (o el de la instancia mientras no lo tenga): un alumno se agrega
+     * a un Set recién después de persistido, así que su hashCode no cambia estando dentro.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Alumno otro)) {
+            return false;
+        }
+        return id != null && id.equals(otro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : System.identityHashCode(this);
+    }
 }
\ No newline at end of file
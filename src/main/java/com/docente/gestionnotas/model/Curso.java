@@ -5,22 +5,36 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * Entidad que representa un Curso.
  * Un curso agrupa múltiples núcleos pedagógicos y puede tener varios alumnos inscritos.
+ * La igualdad se basa en el ID (ver {@link #equals(Object)}), nunca en las colecciones.
+ * El curso, sus núcleos y sus alumnos inscritos se guardan en la caché de segundo nivel
+ * (una región por entidad y por colección, configuradas en hibernate-cache.conf).
  */
 @Entity
-@Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Curso.REGION_CACHE)
+@NamedEntityGraph(name = "Curso.conNucleos", attributeNodes = @NamedAttributeNode("nucleos"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
+@ToString(exclude = {"nucleos", "alumnos"})
 public class Curso {
 
+    // Regiones de la caché de segundo nivel
+    public static final String REGION_CACHE = "curso";
+    public static final String REGION_CACHE_NUCLEOS = "curso-nucleos";
+    public static final String REGION_CACHE_ALUMNOS = "curso-alumnos";
+    public static final String REGION_CACHE_POR_NOMBRE = "curso-por-nombre";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -47,11 +61,15 @@ public class Curso {
             cascade = CascadeType.ALL,
             orphanRemoval = true
     )
-    private List<NucleoPedagogico> nucleos = new ArrayList<>();
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = REGION_CACHE_NUCLEOS)
+    private Set<NucleoPedagogico> nucleos = new LinkedHashSet<>();
 
     // Relación Muchos a Muchos con Alumno (Mapeado en la clase Alumno)
     @ManyToMany(mappedBy = "cursos")
-    private List<Alumno> alumnos = new ArrayList<>();
+    @OrderBy("apellido, nombre")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = REGION_CACHE_ALUMNOS)
+    private Set<Alumno> alumnos = new LinkedHashSet<>();
 
     /**
      * Añade un núcleo pedagógico al curso.
@@ -59,7 +77,7 @@ public class Curso {
      */
     public void addNucleo(NucleoPedagogico nucleo) {
         if (nucleos == null) {
-            nucleos = new ArrayList<>();
+            nucleos = new LinkedHashSet<>();
         }
         nucleos.add(nucleo);
         nucleo.setCurso(this);
@@ -89,4 +107,27 @@ public class Curso {
         this.descripcion = nombreCompleto;
     }
 
+    /**
+     * Dos cursos son iguales si son la misma instancia o si tienen el mismo ID.
+     * No se usan la materia, el año ni la división porque se pueden editar: cambiarlos con el curso
+     * dentro de un Set lo dejaría inconsistente. El ID de un proxy se lee sin inicializarlo.
+     * El hashCode es el del ID (o el de la instancia mientras no lo tenga): un curso se agrega
+     * a un Set recién después de persistido, así que su hashCode no cambia estando dentro.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Curso otro)) {
+            return false;
+        }
+        return id != null && id.equals(otro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : System.identityHashCode(this);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.docente.gestionnotas.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Arrays;
+
+/**
+ * Agregados de las notas de un núcleo pedagógico, mantenidos de forma incremental.
+ * Como las notas van del 1 al 10, un histograma de 10 posiciones alcanza para
+ * responder promedio, mínimo, máximo, mediana y percentiles en O(1) sin leer la tabla nota.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+public class EstadisticasNotas {
+
+    public static final int NOTA_MINIMA = 1;
+    public static final int NOTA_MAXIMA = 10;
+
+    @ColumnDefault("0")
+    @Column(name = "cantidad_notas", nullable = false)
+    private long cantidad;
+
+    @ColumnDefault("0")
+    @Column(name = "suma_notas", nullable = false)
+    private long suma;
+
+    @Column(name = "nota_minima")
+    private Integer minimo;
+
+    @Column(name = "nota_maxima")
+    private Integer maximo;
+
+    // histograma[i] = cantidad de notas con valor i + 1
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "histograma_notas")
+    private long[] histograma;
+
+    /**
+     * Suma una nota a los agregados.
+     */
+    public void registrar(int valor) {
+        validarRango(valor);
+        long[] h = histograma();
+        h[valor - NOTA_MINIMA]++;
+        cantidad++;
+        suma += valor;
+        minimo = minimo == null ? valor : Math.min(minimo, valor);
+        maximo = maximo == null ? valor : Math.max(maximo, valor);
+        histograma = h;
+    }
+
+    /**
+     * Descuenta una nota de los agregados. Si era el mínimo o el máximo,
+     * el nuevo extremo se obtiene del histograma (a lo sumo 10 posiciones).
+     */
+    public void descontar(int valor) {
+        validarRango(valor);
+        long[] h = histograma();
+        if (h[valor - NOTA_MINIMA] == 0) {
+            throw new IllegalStateException("El histograma no contiene notas con valor " + valor + ".");
+        }
+        h[valor - NOTA_MINIMA]--;
+        cantidad--;
+        suma -= valor;
+        histograma = h;
+        recalcularExtremos();
+    }
+
+    /**
+     * Reemplaza una nota existente por otro valor.
+     */
+    public void actualizar(int valorAnterior, int valorNuevo) {
+        if (valorAnterior != valorNuevo) {
+            descontar(valorAnterior);
+            registrar(valorNuevo);
+        }
+    }
+
+    /**
+     * Suma a los agregados un lote de notas expresado como histograma
+     * (usado por la importación masiva, que inserta por JDBC).
+     */
+    public void acumular(long[] histogramaAdicional) {
+        long[] h = histograma();
+        for (int i = 0; i < h.length; i++) {
+            h[i] += histogramaAdicional[i];
+        }
+        reconstruir(h);
+    }
+
+    /**
+     * Reemplaza los agregados por los recalculados a partir de un histograma completo.
+     */
+    public void reconstruir(long[] nuevoHistograma) {
+        if (nuevoHistograma.length != NOTA_MAXIMA) {
+            throw new IllegalArgumentException("El histograma debe tener " + NOTA_MAXIMA + " posiciones.");
+        }
+        histograma = nuevoHistograma.clone();
+        cantidad = 0;
+        suma = 0;
+        for (int i = 0; i < histograma.length; i++) {
+            cantidad += histograma[i];
+            suma += histograma[i] * (i + NOTA_MINIMA);
+        }
+        recalcularExtremos();
+    }
+
+    public double promedio() {
+        return cantidad == 0 ? 0.0 : (double) suma / cantidad;
+    }
+
+    /**
+     * Mediana de las notas (promedio de los dos valores centrales si la cantidad es par).
+     */
+    public double mediana() {
+        if (cantidad == 0) {
+            return 0.0;
+        }
+        return (valorEnPosicion((cantidad + 1) / 2) + valorEnPosicion(cantidad / 2 + 1)) / 2.0;
+    }
+
+    /**
+     * Percentil por el método del rango más cercano.
+     *
+     * @param percentil valor entre 0 y 100
+     */
+    public int percentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100.");
+        }
+        if (cantidad == 0) {
+            return 0;
+        }
+        long rango = Math.max(1, (long) Math.ceil(percentil / 100.0 * cantidad));
+        return valorEnPosicion(rango);
+    }
+
+    /**
+     * Copia del histograma (siempre de 10 posiciones).
+     */
+    public long[] getHistograma() {
+        return histograma().clone();
+    }
+
+    /**
+     * Indica si los agregados coinciden con un histograma calculado desde la tabla nota.
+     */
+    public boolean coincideCon(long[] histogramaReal) {
+        return Arrays.equals(histograma(), histogramaReal);
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    // Valor de la k-ésima nota (1-based) en orden ascendente
+    private int valorEnPosicion(long k) {
+        long acumulado = 0;
+        long[] h = histograma();
+        for (int i = 0; i < h.length; i++) {
+            acumulado += h[i];
+            if (acumulado >= k) {
+                return i + NOTA_MINIMA;
+            }
+        }
+        return NOTA_MAXIMA;
+    }
+
+    private void recalcularExtremos() {
+        long[] h = histograma();
+        minimo = null;
+        maximo = null;
+        for (int i = 0; i < h.length; i++) {
+            if (h[i] > 0) {
+                if (minimo == null) {
+                    minimo = i + NOTA_MINIMA;
+                }
+                maximo = i + NOTA_MINIMA;
+            }
+        }
+    }
+
+    // Las filas anteriores a este campo tienen el histograma en NULL
+    private long[] histograma() {
+        if (histograma == null || histograma.length != NOTA_MAXIMA) {
+            return new long[NOTA_MAXIMA];
+        }
+        return histograma.clone();
+    }
+
+    private static void validarRango(int valor) {
+        if (valor < NOTA_MINIMA || valor > NOTA_MAXIMA) {
+            throw new IllegalArgumentException("El valor de la nota debe estar entre 1 y 10.");
+        }
+    }
+}
\ No newline at end of file
@@ -5,22 +5,37 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * Entidad que representa una Nota.
- * Las notas están asociadas a un núcleo pedagógico.
+ * Las notas están asociadas a un núcleo pedagógico, y son dueñas de esa relación:
+ * agregar una nota es un único INSERT, sin cargar las demás notas del núcleo.
  */
 @Entity
-@Data
+@Getter
+@Setter
+@ToString(exclude = "nucleo")
 @NoArgsConstructor
 @AllArgsConstructor
 public class Nota {
 
+    /**
+     * Cantidad de IDs que se reservan de la secuencia en cada llamada.
+     * Con IDENTITY Hibernate no puede agrupar INSERTs; con una secuencia
+     * "pooled-lo" un solo SELECT reserva el bloque [valor, valor + tamaño).
+     */
+    public static final int TAMANIO_ASIGNACION_ID = 50;
+
+    public static final String SECUENCIA_ID = "nota_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "nota_seq")
+    @SequenceGenerator(name = "nota_seq", sequenceName = SECUENCIA_ID, allocationSize = TAMANIO_ASIGNACION_ID)
     private Long id;
 
     @NotNull(message = "El valor de la nota es obligatorio")
@@ -32,6 +47,11 @@ public class Nota {
     @Size(max = 200, message = "La descripción no puede exceder 200 caracteres")
     private String descripcion;
 
+    // Relación Muchos a Uno: Una nota pertenece a un núcleo (dueña de la columna nucleo_id)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "nucleo_id", nullable = false)
+    private NucleoPedagogico nucleo;
+
     /**
      * Valida que el valor de la nota esté en el rango correcto antes de persistir.
      */
@@ -43,4 +63,24 @@ public class Nota {
                     "El valor de la nota debe estar entre 1 y 10. Valor recibido: " + valor);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Dos notas son iguales si son la misma instancia o si tienen el mismo ID.
+     * Igual que en {@link NucleoPedagogico}, el hashCode es el del ID una vez asignado.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Nota otra)) {
+            return false;
+        }
+        return id != null && id.equals(otra.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : System.identityHashCode(this);
+    }
+}
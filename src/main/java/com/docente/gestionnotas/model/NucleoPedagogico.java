@@ -3,9 +3,13 @@ package com.docente.gestionnotas.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,13 +17,22 @@ import java.util.List;
 /**
  * Entidad que representa un Núcleo Pedagógico.
  * Un núcleo agrupa múltiples notas y pertenece a un curso.
+ * No tiene clave natural: la igualdad se basa en el ID (ver {@link #equals(Object)}).
+ * Se guarda en la caché de segundo nivel junto con sus agregados; sus notas no.
  */
 @Entity
-@Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = NucleoPedagogico.REGION_CACHE)
+@Getter
+@Setter
+@ToString(exclude = {"notas", "curso"})
 @NoArgsConstructor
 @AllArgsConstructor
 public class NucleoPedagogico {
 
+    // Región de la caché de segundo nivel
+    public static final String REGION_CACHE = "nucleo";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,9 +45,8 @@ public class NucleoPedagogico {
     @Size(max = 5000, message = "La descripción no puede exceder 5000 caracteres")
     private String descripcion;
 
-    // Relación Uno a Muchos: Un núcleo tiene muchas notas
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "nucleo_id")
+    // Relación Uno a Muchos: Un núcleo tiene muchas notas (la columna nucleo_id la maneja Nota)
+    @OneToMany(mappedBy = "nucleo", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Nota> notas = new ArrayList<>();
 
     // Relación Muchos a Uno: Un núcleo pertenece a un curso
@@ -42,35 +54,68 @@ public class NucleoPedagogico {
     @JoinColumn(name = "curso_id")
     private Curso curso;
 
+    // Agregados de las notas (cantidad, suma, mínimo, máximo, histograma)
+    @Embedded
+    private EstadisticasNotas estadisticas = new EstadisticasNotas();
+
+    /**
+     * Obtiene los agregados de notas, inicializándolos si la fila no los tenía.
+     */
+    public EstadisticasNotas getEstadisticas() {
+        if (estadisticas == null) {
+            estadisticas = new EstadisticasNotas();
+        }
+        return estadisticas;
+    }
+
     /**
-     * Añade una nota al núcleo pedagógico.
+     * Añade una nota al núcleo pedagógico y actualiza los agregados.
      */
     public void addNota(Nota nota) {
         if (notas == null) {
             notas = new ArrayList<>();
         }
         notas.add(nota);
+        nota.setNucleo(this);
+        getEstadisticas().registrar(nota.getValor());
     }
 
     /**
-     * Remueve una nota del núcleo pedagógico.
+     * Remueve una nota del núcleo pedagógico y actualiza los agregados.
      */
     public void removeNota(Nota nota) {
-        if (notas != null) {
-            notas.remove(nota);
+        if (notas != null && notas.remove(nota)) {
+            getEstadisticas().descontar(nota.getValor());
+            nota.setNucleo(null);
         }
     }
 
     /**
-     * Calcula el promedio de las notas de este núcleo.
+     * Devuelve el promedio de las notas de este núcleo.
+     * Se obtiene de los agregados, sin recorrer (ni cargar) la colección de notas.
      */
     public double calcularPromedio() {
-        if (notas == null || notas.isEmpty()) {
-            return 0.0;
+        return getEstadisticas().promedio();
+    }
+
+    /**
+     * Dos núcleos son iguales si son la misma instancia o si tienen el mismo ID.
+     * El hashCode es el del ID (o el de la instancia mientras no lo tenga), por eso el núcleo
+     * se persiste antes de agregarlo al Set de su curso (ver NucleoPedagogicoService.crearNucleo).
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NucleoPedagogico otro)) {
+            return false;
         }
-        return notas.stream()
-                .mapToInt(Nota::getValor)
-                .average()
-                .orElse(0.0);
+        return id != null && id.equals(otro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : System.identityHashCode(this);
     }
 }
\ No newline at end of file
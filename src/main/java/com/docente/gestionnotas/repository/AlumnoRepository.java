@@ -1,21 +1,141 @@
 package com.docente.gestionnotas.repository;
 
+import com.docente.gestionnotas.dto.AlumnoResumen;
 import com.docente.gestionnotas.model.Alumno;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface AlumnoRepository extends JpaRepository<Alumno, String> {
+public interface AlumnoRepository extends JpaRepository<Alumno, Long> {
 
     // Ejemplo de método de búsqueda personalizado
     // Spring Data genera automáticamente la consulta: SELECT a FROM Alumno a WHERE a.apellido = ?1
     List<Alumno> findByApellido(String apellido);
 
-    Alumno findById(Long id);
+    // Búsquedas por DNI, resueltas con el índice único uk_alumno_dni
+    Optional<Alumno> findByDni(String dni);
 
-    boolean existsById(Long id);
+    boolean existsByDni(String dni);
 
-    void deleteById(Long id);
-}
\ No newline at end of file
+    // --- Paginación keyset (cursor) ---
+    // Cada página se obtiene "buscando" a partir de la última clave vista (WHERE clave > cursor),
+    // por lo que el costo no crece con el número de página como ocurre con OFFSET.
+
+    // Primera página ordenada por ID
+    List<Alumno> findAllByOrderByIdAsc(Limit limit);
+
+    // Páginas siguientes ordenadas por ID: SELECT ... WHERE a.id > ?1 ORDER BY a.id
+    List<Alumno> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Primera página ordenada por apellido (el ID desempata alumnos con el mismo apellido)
+    List<Alumno> findAllByOrderByApellidoAscIdAsc(Limit limit);
+
+    // Páginas siguientes ordenadas por (apellido, id)
+    @Query("SELECT a FROM Alumno a " +
+            "WHERE a.apellido > :apellido OR (a.apellido = :apellido AND a.id > :id) " +
+            "ORDER BY a.apellido ASC, a.id ASC")
+    List<Alumno> findPaginaPorApellido(@Param("apellido") String apellido,
+                                       @Param("id") Long id,
+                                       Limit limit);
+
+    // --- Planes de carga (entity graphs) por vista ---
+
+    // Alumnos de una página junto con sus cursos, en una sola consulta (vista alumnos/lista)
+    @EntityGraph("Alumno.conCursos")
+    @Query("SELECT a FROM Alumno a WHERE a.id IN :ids")
+    List<Alumno> findConCursosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // --- Proyecciones de solo lectura (DTO) ---
+
+    // Alumnos inscritos en un curso, sin cargar entidades ni sus relaciones
+    @Query("SELECT new com.docente.gestionnotas.dto.AlumnoResumen(a.id, a.nombre, a.apellido, a.dni, a.email) " +
+            "FROM Alumno a JOIN a.cursos c WHERE c.id = :cursoId ORDER BY a.apellido, a.nombre, a.id")
+    List<AlumnoResumen> findResumenByCursoId(@Param("cursoId") Long cursoId);
+
+    // Alumnos NO inscritos en un curso, para autocompletar. El anti-join consulta directamente
+    // alumno_curso por (curso_id, alumno_id) con el índice idx_alumno_curso_curso.
+    // Sin texto, el orden por apellido recorre idx_alumno_apellido y se detiene en el límite.
+    @Query(value = "SELECT a.id, a.nombre, a.apellido, a.dni, a.email FROM alumno a " +
+            "WHERE NOT EXISTS (SELECT 1 FROM alumno_curso ac WHERE ac.curso_id = :cursoId AND ac.alumno_id = a.id) " +
+            "ORDER BY a.apellido, a.nombre, a.id", nativeQuery = true)
+    List<AlumnoResumen> findNoInscritosEnCurso(@Param("cursoId") Long cursoId, Limit limit);
+
+    // Igual que la anterior, filtrada por prefijo (normalizado como en BusquedaAlumnosService) de apellido,
+    // nombre o DNI.
+    // Cada prefijo es un rango de su propio índice (apellido_busqueda, nombre_busqueda y uk_alumno_dni;
+    // ver V3__busqueda_alumnos_por_prefijo.sql); la UNION evita el OR, que obliga a recorrer la tabla.
+    @Query(value = "SELECT a.id, a.nombre, a.apellido, a.dni, a.email FROM alumno a " +
+            "WHERE a.id IN (SELECT id FROM alumno WHERE apellido_busqueda LIKE :prefijo " +
+            "               UNION SELECT id FROM alumno WHERE nombre_busqueda LIKE :prefijo " +
+            "               UNION SELECT id FROM alumno WHERE dni LIKE :prefijo) " +
+            "AND NOT EXISTS (SELECT 1 FROM alumno_curso ac WHERE ac.curso_id = :cursoId AND ac.alumno_id = a.id) " +
+            "ORDER BY a.apellido, a.nombre, a.id", nativeQuery = true)
+    List<AlumnoResumen> findNoInscritosEnCursoPorPrefijo(@Param("cursoId") Long cursoId,
+                                                         @Param("prefijo") String prefijo,
+                                                         Limit limit);
+
+    // --- Búsqueda de alumnos (ver BusquedaAlumnosService) ---
+
+    // Carga del índice de búsqueda en memoria, por lotes de IDs crecientes
+    @Query("SELECT new com.docente.gestionnotas.dto.AlumnoResumen(a.id, a.nombre, a.apellido, a.dni, a.email) " +
+            "FROM Alumno a WHERE a.id > :id ORDER BY a.id")
+    List<AlumnoResumen> findResumenDesdeId(@Param("id") Long id, Limit limit);
+
+    // Búsqueda por prefijo contra la base, usada solo mientras el índice en memoria se está cargando.
+    // Usa las mismas columnas normalizadas e índices que findNoInscritosEnCursoPorPrefijo, así que
+    // "garcia" encuentra "García" igual que el índice en memoria.
+    @Query(value = "SELECT a.id, a.nombre, a.apellido, a.dni, a.email FROM alumno a " +
+            "WHERE a.id IN (SELECT id FROM alumno WHERE apellido_busqueda LIKE :prefijo " +
+            "               UNION SELECT id FROM alumno WHERE nombre_busqueda LIKE :prefijo " +
+            "               UNION SELECT id FROM alumno WHERE dni LIKE :prefijo) " +
+            "ORDER BY a.apellido, a.nombre, a.id", nativeQuery = true)
+    List<AlumnoResumen> buscarPorPrefijo(@Param("prefijo") String prefijo, Limit limit);
+
+    // --- Inscripción masiva (operaciones por conjuntos sobre alumno_curso) ---
+
+    // IDs de la lista que corresponden a alumnos existentes
+    @Query("SELECT a.id FROM Alumno a WHERE a.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // IDs de la lista que ya están inscritos en el curso
+    @Query(value = "SELECT ac.alumno_id FROM alumno_curso ac " +
+            "WHERE ac.curso_id = :cursoId AND ac.alumno_id IN (:ids)", nativeQuery = true)
+    List<Long> findIdsInscritos(@Param("cursoId") Long cursoId, @Param("ids") Collection<Long> ids);
+
+    // Inserta en una sola sentencia todas las inscripciones que aún no existen.
+    // La tabla afectada se declara para que Hibernate invalide solo las colecciones cacheadas
+    // que dependen de alumno_curso (Curso.alumnos) y no toda la caché de segundo nivel.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "alumno_curso"))
+    @Query(value = "INSERT INTO alumno_curso (alumno_id, curso_id) " +
+            "SELECT a.id, :cursoId FROM alumno a " +
+            "WHERE a.id IN (:ids) " +
+            "AND NOT EXISTS (SELECT 1 FROM alumno_curso ac WHERE ac.alumno_id = a.id AND ac.curso_id = :cursoId)",
+            nativeQuery = true)
+    int inscribirEnLote(@Param("cursoId") Long cursoId, @Param("ids") Collection<Long> ids);
+
+    // --- Eliminación por conjuntos (ver AlumnoService.eliminarEnLote) ---
+
+    // Inscripciones de los alumnos indicados (invalida solo las colecciones que dependen de alumno_curso)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "alumno_curso"))
+    @Query(value = "DELETE FROM alumno_curso WHERE alumno_id IN (:alumnoIds)", nativeQuery = true)
+    int eliminarInscripcionesPorAlumnoIds(@Param("alumnoIds") Collection<Long> alumnoIds);
+
+    // Alumnos indicados; sus inscripciones deben haberse eliminado antes
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Alumno a WHERE a.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+}
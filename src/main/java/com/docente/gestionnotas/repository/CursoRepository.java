@@ -1,12 +1,85 @@
 package com.docente.gestionnotas.repository;
 
+import com.docente.gestionnotas.dto.CursoCatalogo;
+import com.docente.gestionnotas.dto.CursoListado;
+import com.docente.gestionnotas.dto.CursoResumen;
 import com.docente.gestionnotas.model.Curso;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface CursoRepository extends JpaRepository<Curso, Long> {
+public interface CursoRepository extends JpaRepository<Curso, Long>, JpaSpecificationExecutor<Curso> {
 
-    // Buscar curso por el nombre completo (ej: "Informática I - 1º A")
+    // Buscar curso por el nombre completo (ej: "Informática I - 1º A").
+    // Usa la caché de consultas: guarda el ID resultante y el curso se resuelve desde la caché de entidades.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Curso.REGION_CACHE_POR_NOMBRE)
+    })
     Curso findByNombreCompleto(String nombreCompleto);
-}
\ No newline at end of file
+
+    // --- Planes de carga (entity graphs) por vista ---
+
+    // Curso con sus núcleos en una sola consulta (vista cursos/detalles)
+    @EntityGraph("Curso.conNucleos")
+    @Query("SELECT c FROM Curso c WHERE c.id = :id")
+    Optional<Curso> findConNucleosById(@Param("id") Long id);
+
+    // --- Proyecciones de solo lectura (DTO) ---
+
+    // Catálogo liviano de cursos (se mantiene en caché en CursoService.findCatalogo)
+    @Query("SELECT new com.docente.gestionnotas.dto.CursoCatalogo(c.id, c.nombreCompleto, c.anio, c.division) " +
+            "FROM Curso c ORDER BY c.nombreCompleto")
+    List<CursoCatalogo> findCatalogo();
+
+    @Query("SELECT new com.docente.gestionnotas.dto.CursoResumen(c.id, c.nombreCompleto, c.nombreMateria, c.anio, c.division) " +
+            "FROM Curso c WHERE c.id = :id")
+    Optional<CursoResumen> findResumenById(@Param("id") Long id);
+
+    // Cursos en los que está inscrito un alumno
+    @Query("SELECT new com.docente.gestionnotas.dto.CursoResumen(c.id, c.nombreCompleto, c.nombreMateria, c.anio, c.division) " +
+            "FROM Alumno a JOIN a.cursos c WHERE a.id = :alumnoId ORDER BY c.nombreCompleto")
+    List<CursoResumen> findResumenByAlumnoId(@Param("alumnoId") Long alumnoId);
+
+    // Cantidad de alumnos inscritos, contada en la base sin inicializar la colección
+    @Query("SELECT COUNT(a) FROM Alumno a JOIN a.cursos c WHERE c.id = :cursoId")
+    long countAlumnosByCursoId(@Param("cursoId") Long cursoId);
+
+    // Listado con cantidades en una sola consulta agrupada por curso: los núcleos se cuentan con el
+    // LEFT JOIN, las notas se suman desde los agregados de cada núcleo (sin leer la tabla nota) y los
+    // alumnos con una subconsulta sobre alumno_curso (unirla también multiplicaría las filas por núcleo).
+    @Query("SELECT new com.docente.gestionnotas.dto.CursoListado(c.id, c.nombreCompleto, c.nombreMateria, " +
+            "c.anio, c.division, " +
+            "(SELECT COUNT(a) FROM Alumno a JOIN a.cursos inscrito WHERE inscrito = c), " +
+            "COUNT(n), COALESCE(SUM(n.estadisticas.cantidad), 0L)) " +
+            "FROM Curso c LEFT JOIN c.nucleos n " +
+            "WHERE c.id IN :ids " +
+            "GROUP BY c.id, c.nombreCompleto, c.nombreMateria, c.anio, c.division")
+    List<CursoListado> findListadoByIdIn(@Param("ids") Collection<Long> ids);
+
+    // --- Eliminación por conjuntos (ver CursoService.eliminarEnLote) ---
+
+    // Inscripciones de los cursos indicados. Como en AlumnoRepository.inscribirEnLote, se declara
+    // la tabla afectada para invalidar solo las colecciones cacheadas que dependen de alumno_curso.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "alumno_curso"))
+    @Query(value = "DELETE FROM alumno_curso WHERE curso_id IN (:cursoIds)", nativeQuery = true)
+    int eliminarInscripcionesPorCursoIds(@Param("cursoIds") Collection<Long> cursoIds);
+
+    // Cursos indicados; sus núcleos, notas e inscripciones deben haberse eliminado antes
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Curso c WHERE c.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,52 @@
+package com.docente.gestionnotas.repository;
+
+import com.docente.gestionnotas.dto.FiltroCursos;
+import com.docente.gestionnotas.model.Curso;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Criterios dinámicos para {@link CursoRepository} (JpaSpecificationExecutor).
+ * El año se compara por igualdad sobre la columna sin funciones, para que la base pueda
+ * usar el índice compuesto idx_curso_anio_division_materia; la división y la materia se
+ * comparan sin distinguir mayúsculas.
+ */
+public final class CursoSpecifications {
+
+    private CursoSpecifications() {
+    }
+
+    /**
+     * Combina los filtros informados; sin filtros devuelve todos los cursos.
+     */
+    public static Specification<Curso> de(FiltroCursos filtro) {
+        Specification<Curso> spec = Specification.unrestricted();
+        if (filtro.anio() != null) {
+            spec = spec.and(conAnio(filtro.anio()));
+        }
+        if (filtro.division() != null && !filtro.division().isBlank()) {
+            spec = spec.and(conDivision(filtro.division()));
+        }
+        if (filtro.materia() != null && !filtro.materia().isBlank()) {
+            spec = spec.and(materiaEmpiezaCon(filtro.materia()));
+        }
+        return spec;
+    }
+
+    public static Specification<Curso> conAnio(int anio) {
+        return (root, query, cb) -> cb.equal(root.get("anio"), anio);
+    }
+
+    // UPPER en ambos lados cubre cualquier combinación ("Ab", "aB"); con el año, el índice
+    // sigue acotando el rango y la comparación de la división se hace sobre esas filas
+    public static Specification<Curso> conDivision(String division) {
+        String valor = division.trim().toUpperCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(cb.upper(root.get("division")), valor);
+    }
+
+    public static Specification<Curso> materiaEmpiezaCon(String prefijo) {
+        String patron = PatronesLike.prefijo(prefijo.trim().toLowerCase(Locale.ROOT));
+        return (root, query, cb) -> cb.like(cb.lower(root.get("nombreMateria")), patron, PatronesLike.ESCAPE);
+    }
+}
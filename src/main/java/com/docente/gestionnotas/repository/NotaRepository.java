@@ -1,11 +1,70 @@
 package com.docente.gestionnotas.repository;
 
+import com.docente.gestionnotas.dto.FilaPlanillaNotas;
+import com.docente.gestionnotas.dto.NotaResumen;
 import com.docente.gestionnotas.model.Nota;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface NotaRepository extends JpaRepository<Nota, Long> {
     // La gestión de notas estará principalmente ligada a un NucleoPedagogico,
     // por lo que los métodos básicos son suficientes.
-}
\ No newline at end of file
+
+    // Filas por viaje a la base al recorrer las notas para exportarlas
+    String FETCH_SIZE_EXPORTACION = "1000";
+
+    // Vista de una nota (el ID del núcleo se lee de la clave foránea, sin join)
+    @Query("SELECT new com.docente.gestionnotas.dto.NotaResumen(no.id, no.nucleo.id, no.valor, no.descripcion) " +
+            "FROM Nota no WHERE no.id = :id")
+    Optional<NotaResumen> findResumenById(@Param("id") Long id);
+
+    // --- Exportación (cursor hacia adelante) ---
+    // Una sola consulta para toda la planilla: curso -> núcleo por idx_nucleo_curso y núcleo -> nota
+    // por idx_nota_nucleo, en el orden de idx_curso_anio_division_materia. Las filas se traen de a
+    // FETCH_SIZE_EXPORTACION y, al ser DTO, no quedan en el contexto de persistencia.
+    // El Stream debe cerrarse y consumirse dentro de una transacción.
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.docente.gestionnotas.dto.FilaPlanillaNotas(c.id, c.nombreCompleto, c.nombreMateria, " +
+            "c.anio, c.division, n.id, n.tema, no.id, no.valor, no.descripcion) " +
+            "FROM Nota no JOIN no.nucleo n JOIN n.curso c " +
+            "ORDER BY c.anio, c.division, c.nombreMateria, c.id, n.id, no.id")
+    Stream<FilaPlanillaNotas> streamPlanilla();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.docente.gestionnotas.dto.FilaPlanillaNotas(c.id, c.nombreCompleto, c.nombreMateria, " +
+            "c.anio, c.division, n.id, n.tema, no.id, no.valor, no.descripcion) " +
+            "FROM Nota no JOIN no.nucleo n JOIN n.curso c WHERE c.id = :cursoId " +
+            "ORDER BY n.id, no.id")
+    Stream<FilaPlanillaNotas> streamPlanillaByCursoId(@Param("cursoId") Long cursoId);
+
+    // --- Eliminación por conjuntos (una sentencia por lote de IDs, sin cargar entidades) ---
+
+    // Notas de los núcleos indicados (filtra por la columna nucleo_id)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Nota no WHERE no.nucleo.id IN :nucleoIds")
+    int eliminarPorNucleoIds(@Param("nucleoIds") Collection<Long> nucleoIds);
+
+    // Notas de todos los núcleos de los cursos indicados
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Nota no WHERE no.nucleo.id IN " +
+            "(SELECT n.id FROM NucleoPedagogico n WHERE n.curso.id IN :cursoIds)")
+    int eliminarPorCursoIds(@Param("cursoIds") Collection<Long> cursoIds);
+}
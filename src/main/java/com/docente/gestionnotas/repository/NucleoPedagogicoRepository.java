@@ -1,10 +1,95 @@
 package com.docente.gestionnotas.repository;
 
+import com.docente.gestionnotas.dto.NotaResumen;
+import com.docente.gestionnotas.dto.NucleoResumen;
 import com.docente.gestionnotas.model.NucleoPedagogico;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface NucleoPedagogicoRepository extends JpaRepository<NucleoPedagogico, Long> {
-    // No necesitamos métodos personalizados por ahora, JpaRepository cubre lo básico.
-}
\ No newline at end of file
+
+    // --- Estadísticas ---
+
+    // Filas [nucleoId, tema, cantidad, suma, sumaCuadrados, minimo, maximo] de cada núcleo del curso.
+    // La suma de cuadrados permite obtener la desviación estándar por núcleo y la del curso completo.
+    @Query("SELECT n.id, n.tema, COUNT(no), SUM(no.valor), SUM(no.valor * no.valor), MIN(no.valor), MAX(no.valor) " +
+            "FROM NucleoPedagogico n LEFT JOIN n.notas no " +
+            "WHERE n.curso.id = :cursoId GROUP BY n.id, n.tema ORDER BY n.id")
+    List<Object[]> calcularEstadisticasPorCurso(@Param("cursoId") Long cursoId);
+
+    // --- Mantenimiento de agregados de notas ---
+
+    // Carga el núcleo bloqueando su fila: serializa las escrituras que modifican sus agregados
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM NucleoPedagogico n WHERE n.id = :id")
+    Optional<NucleoPedagogico> findParaActualizarById(@Param("id") Long id);
+
+    // Núcleo al que pertenece una nota (lee la columna nucleo_id, sin JOIN)
+    @Query("SELECT no.nucleo.id FROM Nota no WHERE no.id = :notaId")
+    Optional<Long> findIdByNotaId(@Param("notaId") Long notaId);
+
+    // Tramo de núcleos con ID mayor al indicado, bloqueando sus filas en orden de ID (el mismo orden
+    // en que las bloquea la importación de notas), para verificar sus agregados
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM NucleoPedagogico n WHERE n.id > :id ORDER BY n.id")
+    List<NucleoPedagogico> findParaActualizarDesdeId(@Param("id") Long id, Limit limit);
+
+    // Filas [nucleoId, valor, cantidad] de los núcleos indicados, calculadas desde la tabla nota
+    // (idx_nota_nucleo), para verificar sus agregados
+    @Query("SELECT no.nucleo.id, no.valor, COUNT(no) FROM Nota no WHERE no.nucleo.id IN :nucleoIds " +
+            "GROUP BY no.nucleo.id, no.valor")
+    List<Object[]> contarNotasPorNucleoYValor(@Param("nucleoIds") Collection<Long> nucleoIds);
+
+    // Filas [valor, cantidad] de un núcleo
+    @Query("SELECT no.valor, COUNT(no) FROM Nota no WHERE no.nucleo.id = :nucleoId GROUP BY no.valor")
+    List<Object[]> contarNotasPorValor(@Param("nucleoId") Long nucleoId);
+
+    // --- Planes de carga por vista ---
+
+    // Núcleos de un curso con sus notas (fetch join). Complementa a CursoRepository.findConNucleosById:
+    // traer núcleos y notas en la misma consulta repetiría los datos del curso por cada nota.
+    @Query("SELECT DISTINCT n FROM NucleoPedagogico n LEFT JOIN FETCH n.notas WHERE n.curso.id = :cursoId")
+    List<NucleoPedagogico> findConNotasByCursoId(@Param("cursoId") Long cursoId);
+
+    // --- Proyecciones de solo lectura (DTO) ---
+
+    @Query("SELECT new com.docente.gestionnotas.dto.NucleoResumen(n.id, n.curso.id, n.tema, n.descripcion) " +
+            "FROM NucleoPedagogico n WHERE n.id = :id")
+    Optional<NucleoResumen> findResumenById(@Param("id") Long id);
+
+    @Query("SELECT new com.docente.gestionnotas.dto.NucleoResumen(n.id, n.curso.id, n.tema, n.descripcion) " +
+            "FROM NucleoPedagogico n WHERE n.curso.id = :cursoId ORDER BY n.id")
+    List<NucleoResumen> findResumenByCursoId(@Param("cursoId") Long cursoId);
+
+    // Notas de un núcleo (filtra por la columna nucleo_id, sin JOIN)
+    @Query("SELECT new com.docente.gestionnotas.dto.NotaResumen(no.id, no.nucleo.id, no.valor, no.descripcion) " +
+            "FROM Nota no WHERE no.nucleo.id = :nucleoId ORDER BY no.id")
+    List<NotaResumen> findNotasResumenByNucleoId(@Param("nucleoId") Long nucleoId);
+
+    // Notas de todos los núcleos de un curso, en una sola consulta
+    @Query("SELECT new com.docente.gestionnotas.dto.NotaResumen(no.id, n.id, no.valor, no.descripcion) " +
+            "FROM Nota no JOIN no.nucleo n WHERE n.curso.id = :cursoId ORDER BY n.id, no.id")
+    List<NotaResumen> findNotasResumenByCursoId(@Param("cursoId") Long cursoId);
+
+    // --- Eliminación por conjuntos (ver NotaRepository: las notas se eliminan antes) ---
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM NucleoPedagogico n WHERE n.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+
+    // Núcleos de los cursos indicados (filtra por la columna curso_id)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM NucleoPedagogico n WHERE n.curso.id IN :cursoIds")
+    int eliminarPorCursoIds(@Param("cursoIds") Collection<Long> cursoIds);
+}
@@ -0,0 +1,26 @@
+package com.docente.gestionnotas.repository;
+
+/**
+ * Construcción de patrones LIKE a partir de texto escrito por el usuario, compartida por las
+ * búsquedas de alumnos por prefijo y los criterios de {@link CursoSpecifications}.
+ * Los patrones usan '\' como carácter de escape, que es el predeterminado de H2.
+ */
+public final class PatronesLike {
+
+    public static final char ESCAPE = '\\';
+
+    private PatronesLike() {
+    }
+
+    /**
+     * Patrón "empieza con" para el texto dado; '%' y '_' se buscan literalmente.
+     */
+    public static String prefijo(String texto) {
+        return escapar(texto) + "%";
+    }
+
+    // Evita que '%' o '_' escritos por el usuario actúen como comodines
+    public static String escapar(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
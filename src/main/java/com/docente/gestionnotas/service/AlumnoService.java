@@ -1,25 +1,68 @@
 package com.docente.gestionnotas.service;
 
+import com.docente.gestionnotas.config.MetricasConfig;
+import com.docente.gestionnotas.dto.AlumnoDetalle;
+import com.docente.gestionnotas.dto.AlumnoResumen;
+import com.docente.gestionnotas.dto.PaginaCursor;
+import com.docente.gestionnotas.dto.ResultadoEliminacionMasiva;
+import com.docente.gestionnotas.dto.ResultadoInscripcionMasiva;
 import com.docente.gestionnotas.model.Alumno;
 import com.docente.gestionnotas.model.Curso;
 import com.docente.gestionnotas.repository.AlumnoRepository;
 import com.docente.gestionnotas.repository.CursoRepository;
+import com.docente.gestionnotas.repository.PatronesLike;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 @Service
+@Timed(value = MetricasConfig.TIMER_SERVICIOS, histogram = true)
 public class AlumnoService {
 
+    // Separador entre apellido e ID dentro del cursor (el ID nunca lo contiene)
+    private static final char SEPARADOR_CURSOR = '|';
+
+    // Resultados por defecto y máximos del autocompletado de alumnos no inscritos
+    private static final int LIMITE_SUGERENCIAS_DEFECTO = 20;
+    private static final int LIMITE_SUGERENCIAS_MAXIMO = 100;
+
+    // Cantidad máxima de IDs por sentencia en la inscripción masiva (acota el tamaño del IN)
+    private static final int TAMANIO_LOTE_INSCRIPCION = 500;
+
+    // Ídem para la eliminación masiva
+    private static final int TAMANIO_LOTE_ELIMINACION = 500;
+
     private final AlumnoRepository alumnoRepository;
     private final CursoRepository cursoRepository;
+    private final BusquedaAlumnosService busquedaAlumnos;
+    private final int tamanioPaginaDefecto;
+    private final int tamanioPaginaMaximo;
 
     // Inyección de dependencias por constructor
-    public AlumnoService(AlumnoRepository alumnoRepository, CursoRepository cursoRepository) {
+    public AlumnoService(AlumnoRepository alumnoRepository,
+                         CursoRepository cursoRepository,
+                         BusquedaAlumnosService busquedaAlumnos,
+                         @Value("${gestion.alumnos.pagina.tamanio-defecto:50}") int tamanioPaginaDefecto,
+                         @Value("${gestion.alumnos.pagina.tamanio-maximo:500}") int tamanioPaginaMaximo) {
         this.alumnoRepository = alumnoRepository;
         this.cursoRepository = cursoRepository;
+        this.busquedaAlumnos = busquedaAlumnos;
+        this.tamanioPaginaDefecto = tamanioPaginaDefecto;
+        this.tamanioPaginaMaximo = tamanioPaginaMaximo;
     }
 
     // --- Métodos CRUD Básicos ---
@@ -31,18 +74,162 @@ public class AlumnoService {
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    /**
+     * Obtiene una página de alumnos usando paginación keyset (cursor).
+     * La consulta busca a partir de la última clave de la página anterior, por lo que
+     * la latencia y la memoria por solicitud no dependen del tamaño total de la tabla.
+     *
+     * @param cursor  cursor devuelto por la página anterior, o null para la primera página
+     * @param tamanio cantidad de alumnos por página (null usa el valor configurado)
+     * @param orden   "id" (por defecto) o "apellido"
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<Alumno> findPagina(String cursor, Integer tamanio, String orden) {
+        int limite = normalizarTamanio(tamanio);
+        boolean porApellido = "apellido".equalsIgnoreCase(orden);
+
+        // Se pide un elemento extra para saber si existe una página siguiente sin hacer un COUNT.
+        Limit limit = Limit.of(limite + 1);
+        boolean primeraPagina = cursor == null || cursor.isBlank();
+
+        List<Alumno> filas;
+        if (porApellido) {
+            if (primeraPagina) {
+                filas = alumnoRepository.findAllByOrderByApellidoAscIdAsc(limit);
+            } else {
+                String valor = decodificarCursor(cursor);
+                int corte = valor.lastIndexOf(SEPARADOR_CURSOR);
+                if (corte < 0) {
+                    throw new IllegalArgumentException("Cursor de paginación inválido.");
+                }
+                filas = alumnoRepository.findPaginaPorApellido(
+                        valor.substring(0, corte), parsearId(valor.substring(corte + 1)), limit);
+            }
+        } else {
+            filas = primeraPagina
+                    ? alumnoRepository.findAllByOrderByIdAsc(limit)
+                    : alumnoRepository.findByIdGreaterThanOrderByIdAsc(parsearId(decodificarCursor(cursor)), limit);
+        }
+
+        String siguienteCursor = null;
+        if (filas.size() > limite) {
+            filas = new ArrayList<>(filas.subList(0, limite));
+            Alumno ultimo = filas.get(limite - 1);
+            siguienteCursor = codificarCursor(porApellido
+                    ? ultimo.getApellido() + SEPARADOR_CURSOR + ultimo.getId()
+                    : String.valueOf(ultimo.getId()));
+        }
+        return new PaginaCursor<>(filas, siguienteCursor, limite);
+    }
+
+    /**
+     * Igual que {@link #findPagina(String, Integer, String)}, pero con la colección de cursos
+     * de cada alumno ya inicializada (una consulta adicional por página, no una por alumno).
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<Alumno> findPaginaConCursos(String cursor, Integer tamanio, String orden) {
+        PaginaCursor<Alumno> pagina = findPagina(cursor, tamanio, orden);
+        if (!pagina.contenido().isEmpty()) {
+            // Devuelve las mismas instancias gestionadas, ahora con sus cursos cargados
+            alumnoRepository.findConCursosByIdIn(pagina.contenido().stream().map(Alumno::getId).toList());
+        }
+        return pagina;
+    }
+
+    /**
+     * Igual que {@link #findPagina(String, Integer, String)}, pero devuelve proyecciones
+     * de solo lectura que no exponen (ni cargan) la relación con cursos.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<AlumnoResumen> findPaginaResumen(String cursor, Integer tamanio, String orden) {
+        PaginaCursor<Alumno> pagina = findPagina(cursor, tamanio, orden);
+        List<AlumnoResumen> resumenes = pagina.contenido().stream()
+                .map(AlumnoResumen::de)
+                .toList();
+        return new PaginaCursor<>(resumenes, pagina.siguienteCursor(), pagina.tamanio());
+    }
+
+    /**
+     * Obtiene el detalle de un alumno con el resumen de sus cursos.
+     * Cuesta exactamente dos consultas, sin importar cuántos cursos tenga.
+     *
+     * @throws NoSuchElementException si el alumno no existe
+     */
+    @Transactional(readOnly = true)
+    public AlumnoDetalle findDetalle(Long id) {
+        Alumno alumno = findById(id);
+        return new AlumnoDetalle(alumno.getId(), alumno.getNombre(), alumno.getApellido(),
+                alumno.getDni(), alumno.getEmail(), alumno.getFechaNacimiento(), alumno.getDireccion(),
+                cursoRepository.findResumenByAlumnoId(id));
+    }
+
+    /**
+     * Lista los alumnos inscritos en un curso como proyecciones de solo lectura.
+     */
+    @Transactional(readOnly = true)
+    public List<AlumnoResumen> findResumenByCurso(Long cursoId) {
+        return alumnoRepository.findResumenByCursoId(cursoId);
+    }
+
+    /**
+     * Busca alumnos que todavía no están inscritos en el curso, filtrando por prefijo
+     * de apellido, nombre o DNI. Es una sola consulta con NOT EXISTS sobre alumno_curso y un
+     * límite de resultados; el prefijo se resuelve con índices, sin recorrer la tabla de alumnos.
+     *
+     * @param texto  prefijo a buscar (null o vacío devuelve los primeros alumnos por apellido)
+     * @param limite cantidad máxima de resultados (null usa el valor por defecto)
+     */
+    @Transactional(readOnly = true)
+    public List<AlumnoResumen> buscarNoInscritos(Long cursoId, String texto, Integer limite) {
+        int maximo = limite == null || limite < 1
+                ? LIMITE_SUGERENCIAS_DEFECTO
+                : Math.min(limite, LIMITE_SUGERENCIAS_MAXIMO);
+        if (texto == null || texto.isBlank()) {
+            return alumnoRepository.findNoInscritosEnCurso(cursoId, Limit.of(maximo));
+        }
+        String prefijo = PatronesLike.prefijo(BusquedaAlumnosService.normalizar(texto.trim()));
+        return alumnoRepository.findNoInscritosEnCursoPorPrefijo(cursoId, prefijo, Limit.of(maximo));
+    }
+
+    /**
+     * Busca un alumno por ID.
+     * @throws NoSuchElementException si no existe
+     */
     @Transactional(readOnly = true)
     public Alumno findById(Long id) {
-        return alumnoRepository.findById(id);
+        return alumnoRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Alumno con ID " + id + " no encontrado."));
+    }
+
+    /**
+     * Busca un alumno por DNI (consulta por índice único).
+     * @throws NoSuchElementException si no existe
+     */
+    @Transactional(readOnly = true)
+    public Alumno findByDni(String dni) {
+        return alumnoRepository.findByDni(dni)
+                .orElseThrow(() -> new NoSuchElementException("Alumno con DNI " + dni + " no encontrado."));
     }
 
+    /**
+     * Guarda un alumno con un solo INSERT/UPDATE.
+     * Regla de Negocio: DNI y email son únicos. No se consulta antes de escribir (eso deja una
+     * ventana de carrera y cuesta un viaje extra a la base): se confía en las restricciones únicas
+     * y la violación se traduce a un mensaje de negocio.
+     *
+     * @throws IllegalArgumentException si el DNI o el email ya pertenecen a otro alumno
+     */
     @Transactional
     public Alumno save(Alumno alumno) {
-        // Regla de Negocio: Validar que el ID sea único antes de guardar (si no es autogenerado)
-        if (alumnoRepository.existsById(alumno.getDni()) && alumnoRepository.findById(alumno.getDni()).isEmpty()) {
-            throw new IllegalArgumentException("Ya existe un alumno con el DNI: " + alumno.getDni());
+        Alumno guardado;
+        try {
+            guardado = alumnoRepository.saveAndFlush(alumno);
+        } catch (DataIntegrityViolationException e) {
+            throw traducirViolacionUnica(e, alumno);
         }
-        return alumnoRepository.save(alumno);
+        busquedaAlumnos.indexarAlConfirmar(AlumnoResumen.de(guardado));
+        return guardado;
     }
 
     // --- Lógica de Negocio Específica ---
@@ -74,6 +261,51 @@ public class AlumnoService {
         return alumnoRepository.save(alumno);
     }
 
+    /**
+     * Inscribe muchos alumnos a un curso mediante operaciones por conjuntos sobre
+     * la tabla alumno_curso, sin cargar entidades ni colecciones.
+     * Los IDs inexistentes y las inscripciones ya existentes se omiten y se informan.
+     *
+     * @throws NoSuchElementException si el curso no existe
+     */
+    @Transactional
+    public ResultadoInscripcionMasiva inscribirAlumnosACurso(Long cursoId, Collection<Long> alumnoIds) {
+        if (!cursoRepository.existsById(cursoId)) {
+            throw new NoSuchElementException("Curso con ID " + cursoId + " no encontrado.");
+        }
+
+        // Se eliminan nulos y duplicados conservando el orden de la solicitud
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(
+                alumnoIds.stream().filter(java.util.Objects::nonNull).toList()));
+
+        Set<Long> existentes = new HashSet<>();
+        Set<Long> yaInscritos = new HashSet<>();
+        int inscritos = 0;
+
+        for (int desde = 0; desde < ids.size(); desde += TAMANIO_LOTE_INSCRIPCION) {
+            List<Long> lote = ids.subList(desde, Math.min(desde + TAMANIO_LOTE_INSCRIPCION, ids.size()));
+            existentes.addAll(alumnoRepository.findIdsExistentes(lote));
+            yaInscritos.addAll(alumnoRepository.findIdsInscritos(cursoId, lote));
+            inscritos += alumnoRepository.inscribirEnLote(cursoId, lote);
+        }
+
+        List<ResultadoInscripcionMasiva.Item> resultados = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ResultadoInscripcionMasiva.Estado estado;
+            if (!existentes.contains(id)) {
+                estado = ResultadoInscripcionMasiva.Estado.NO_ENCONTRADO;
+            } else if (yaInscritos.contains(id)) {
+                estado = ResultadoInscripcionMasiva.Estado.YA_INSCRITO;
+            } else {
+                estado = ResultadoInscripcionMasiva.Estado.INSCRITO;
+            }
+            resultados.add(new ResultadoInscripcionMasiva.Item(id, estado));
+        }
+
+        return new ResultadoInscripcionMasiva(cursoId, inscritos, yaInscritos.size(),
+                ids.size() - existentes.size(), resultados);
+    }
+
     /**
      * Desinscribe a un alumno de un curso existente.
      * Maneja la relación Muchos a Muchos.
@@ -94,23 +326,37 @@ public class AlumnoService {
             throw new IllegalArgumentException("El alumno no está inscrito en el curso especificado.");
         }
 
-        // 2. (Opcional, para mantener consistencia bidireccional)
-        //    Remover el alumno de la lista de alumnos del curso.
-        curso.getAlumnos().removeIf(a -> false);
+        // 2. Remover el alumno de la lista de alumnos del curso (lado inverso): además de
+        //    mantener la consistencia, invalida la colección Curso.alumnos en la caché de segundo nivel.
+        curso.getAlumnos().remove(alumno);
         cursoRepository.save(curso);
 
         // 3. Persistir el cambio en el alumno.
         alumnoRepository.save(alumno);
     }
 
+    /**
+     * Elimina un alumno y sus inscripciones con dos sentencias por conjuntos
+     * (ver {@link #eliminarEnLote}), sin cargar sus cursos.
+     * @throws NoSuchElementException si el alumno no existe
+     */
     @Transactional
     public void deleteById(Long id) {
         if (!alumnoRepository.existsById(id)) {
             throw new NoSuchElementException("Alumno con ID " + id + " no encontrado.");
         }
-        // Debido a que 'Alumno' es la entidad dueña de la relación M:M,
-        // al eliminar el alumno, las entradas correspondientes en 'alumno_curso' se eliminan.
-        alumnoRepository.deleteById(id);
+        eliminar(List.of(id));
+    }
+
+    /**
+     * Elimina varios alumnos con sus inscripciones. Cada lote de IDs se resuelve con dos
+     * sentencias (alumno_curso y alumnos); Hibernate invalida la región de alumnos y las
+     * colecciones Curso.alumnos en la caché de segundo nivel, y el índice de búsqueda se
+     * actualiza al confirmarse la transacción. Los IDs nulos, repetidos o inexistentes se ignoran.
+     */
+    @Transactional
+    public ResultadoEliminacionMasiva eliminarEnLote(Collection<Long> alumnoIds) {
+        return eliminar(alumnoIds);
     }
 
 
@@ -146,4 +392,64 @@ public class AlumnoService {
         curso.getAlumnos().add(alumno);
         cursoRepository.save(curso);
     }
+
+    // --- Métodos auxiliares ---
+
+    private static RuntimeException traducirViolacionUnica(DataIntegrityViolationException e, Alumno alumno) {
+        String detalle = String.valueOf(e.getMostSpecificCause().getMessage()).toUpperCase();
+        if (detalle.contains(Alumno.UK_DNI.toUpperCase())) {
+            return new IllegalArgumentException("Ya existe un alumno con el DNI: " + alumno.getDni(), e);
+        }
+        if (detalle.contains(Alumno.UK_EMAIL.toUpperCase())) {
+            return new IllegalArgumentException("Ya existe un alumno con el email: " + alumno.getEmail(), e);
+        }
+        return e;
+    }
+
+    private ResultadoEliminacionMasiva eliminar(Collection<Long> alumnoIds) {
+        // Se eliminan nulos y duplicados; el tamaño del lote acota el IN de cada sentencia
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(
+                alumnoIds.stream().filter(java.util.Objects::nonNull).toList()));
+
+        int alumnos = 0;
+        int inscripciones = 0;
+        for (int desde = 0; desde < ids.size(); desde += TAMANIO_LOTE_ELIMINACION) {
+            List<Long> lote = ids.subList(desde, Math.min(desde + TAMANIO_LOTE_ELIMINACION, ids.size()));
+            inscripciones += alumnoRepository.eliminarInscripcionesPorAlumnoIds(lote);
+            alumnos += alumnoRepository.eliminarPorIds(lote);
+        }
+        // Quitar un ID que no estaba indexado no tiene efecto
+        ids.forEach(busquedaAlumnos::quitarAlConfirmar);
+        return new ResultadoEliminacionMasiva(ids.size(), alumnos, ids.size() - alumnos, 0, 0, inscripciones);
+    }
+
+    // --- Métodos auxiliares de paginación ---
+
+    private int normalizarTamanio(Integer tamanio) {
+        if (tamanio == null || tamanio < 1) {
+            return tamanioPaginaDefecto;
+        }
+        return Math.min(tamanio, tamanioPaginaMaximo);
+    }
+
+    private static String codificarCursor(String valor) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodificarCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido.", e);
+        }
+    }
+
+    private static Long parsearId(String valor) {
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido.", e);
+        }
+    }
 }
\ No newline at end of file
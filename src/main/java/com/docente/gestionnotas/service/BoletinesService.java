@@ -0,0 +1,407 @@
+package com.docente.gestionnotas.service;
+
+import com.docente.gestionnotas.config.MetricasConfig;
+import com.docente.gestionnotas.dto.AlumnoResumen;
+import com.docente.gestionnotas.dto.CursoCatalogo;
+import com.docente.gestionnotas.dto.EstadisticasCurso;
+import com.docente.gestionnotas.dto.EstadoTrabajoBoletines;
+import com.docente.gestionnotas.dto.EstadoTrabajoBoletines.Estado;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generación asincrónica de boletines de fin de período.
+ * <p>
+ * Cada trabajo abarca los cursos de un año y/o una división y se divide en una partición por curso:
+ * las estadísticas del curso por núcleo ({@link CursoService#calcularEstadisticas(Long)}, una consulta
+ * agrupada) y sus alumnos inscritos ({@link AlumnoService#findResumenByCurso(Long)}).
+ * Las particiones se calculan en paralelo en un ejecutor acotado; al terminar todas se agrupan
+ * por alumno y se escriben un HTML (un boletín por alumno) y un CSV en el directorio del trabajo.
+ * <p>
+ * Los trabajos se ejecutan de a gestion.boletines.trabajos-simultaneos; los demás esperan en una cola
+ * acotada. El registro de trabajos está en memoria: tras un reinicio los archivos siguen en disco,
+ * pero sus trabajos ya no se pueden consultar. Al descartar un trabajo terminado del registro se
+ * borra también su directorio.
+ */
+@Service
+@Timed(value = MetricasConfig.TIMER_SERVICIOS, histogram = true)
+public class BoletinesService {
+
+    private static final Logger log = LoggerFactory.getLogger(BoletinesService.class);
+
+    // Trabajos terminados que se conservan para consultar su estado y descargar sus archivos
+    private static final int MAXIMO_TRABAJOS_REGISTRADOS = 100;
+
+    private static final String ARCHIVO_HTML = "boletines.html";
+    private static final String ARCHIVO_CSV = "boletines.csv";
+
+    private final CursoService cursoService;
+    private final AlumnoService alumnoService;
+    private final Path directorio;
+    private final ExecutorService ejecutorTrabajos;
+    private final ExecutorService ejecutorParticiones;
+
+    // Las consultas leen el registro sin bloquear; el orden de creación decide qué trabajos se descartan
+    private final Map<String, Trabajo> trabajos = new ConcurrentHashMap<>();
+    private final Deque<Trabajo> trabajosPorAntiguedad = new ConcurrentLinkedDeque<>();
+
+    // Serializa las altas y bajas del registro. ReentrantLock y no synchronized: un hilo virtual que espera
+    // un monitor queda fijado a su hilo portador, y las altas corren en los hilos de las solicitudes
+    private final ReentrantLock registro = new ReentrantLock();
+
+    public BoletinesService(CursoService cursoService,
+                            AlumnoService alumnoService,
+                            @Value("${gestion.boletines.directorio:./data/boletines}") String directorio,
+                            @Value("${gestion.boletines.hilos:4}") int hilos,
+                            @Value("${gestion.boletines.trabajos-simultaneos:1}") int trabajosSimultaneos,
+                            @Value("${gestion.boletines.trabajos-en-espera:10}") int trabajosEnEspera,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        if (hilos < 1 || trabajosSimultaneos < 1 || trabajosEnEspera < 1) {
+            throw new IllegalArgumentException("Los hilos y trabajos de gestion.boletines.* deben ser mayores que cero.");
+        }
+        this.cursoService = cursoService;
+        this.alumnoService = alumnoService;
+        this.directorio = Path.of(directorio);
+        this.ejecutorTrabajos = new ThreadPoolExecutor(trabajosSimultaneos, trabajosSimultaneos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(trabajosEnEspera), fabricaHilos("boletines-trabajo-", hilosVirtuales));
+        // Acotado aunque los hilos sean virtuales: cada partición ocupa una conexión del pool mientras consulta
+        this.ejecutorParticiones = Executors.newFixedThreadPool(hilos, fabricaHilos("boletines-particion-", hilosVirtuales));
+    }
+
+    /**
+     * Encola un trabajo para los cursos del año y/o la división indicados.
+     * @throws IllegalArgumentException si no se indica año ni división, o si ningún curso coincide
+     * @throws IllegalStateException    si la cola de trabajos está llena
+     */
+    public EstadoTrabajoBoletines iniciar(Integer anio, String division) {
+        String divisionNormalizada = division == null || division.isBlank() ? null : division.trim();
+        if (anio == null && divisionNormalizada == null) {
+            throw new IllegalArgumentException("Se debe indicar el año, la división o ambos.");
+        }
+
+        List<CursoCatalogo> cursos = cursoService.findCatalogo().stream()
+                .filter(curso -> anio == null || curso.anio() == anio)
+                .filter(curso -> divisionNormalizada == null || curso.division().equalsIgnoreCase(divisionNormalizada))
+                .toList();
+        if (cursos.isEmpty()) {
+            throw new IllegalArgumentException("Ningún curso coincide con el año y la división indicados.");
+        }
+
+        Trabajo trabajo = new Trabajo(UUID.randomUUID().toString(), anio, divisionNormalizada, cursos);
+        List<Trabajo> descartados;
+        registro.lock();
+        try {
+            try {
+                ejecutorTrabajos.execute(() -> ejecutar(trabajo));
+            } catch (RejectedExecutionException e) {
+                throw new IllegalStateException("Hay demasiados trabajos de boletines en espera; intente más tarde.");
+            }
+            trabajos.put(trabajo.id, trabajo);
+            trabajosPorAntiguedad.addLast(trabajo);
+            descartados = descartarTrabajosAntiguos();
+        } finally {
+            registro.unlock();
+        }
+        // Fuera del bloqueo: borrar archivos no debe demorar las altas de otras solicitudes
+        descartados.forEach(this::borrarArchivos);
+        log.info("Trabajo de boletines {} encolado: {} curso(s) (año {}, división {}).",
+                trabajo.id, cursos.size(), anio, divisionNormalizada);
+        return trabajo.estado();
+    }
+
+    /**
+     * @throws NoSuchElementException si el trabajo no existe
+     */
+    public EstadoTrabajoBoletines findEstado(String id) {
+        return buscar(id).estado();
+    }
+
+    /**
+     * Trabajos registrados, del más reciente al más antiguo.
+     */
+    public List<EstadoTrabajoBoletines> findAll() {
+        List<EstadoTrabajoBoletines> estados = new ArrayList<>();
+        trabajosPorAntiguedad.descendingIterator().forEachRemaining(trabajo -> estados.add(trabajo.estado()));
+        return estados;
+    }
+
+    /**
+     * Archivo generado por un trabajo completado.
+     *
+     * @param formato html o csv
+     * @throws NoSuchElementException   si el trabajo no existe
+     * @throws IllegalArgumentException si el formato no es html ni csv
+     * @throws IllegalStateException    si el trabajo todavía no terminó o falló
+     */
+    public Path findArchivo(String id, String formato) {
+        Trabajo trabajo = buscar(id);
+        String nombre = switch (formato == null ? "" : formato.trim().toLowerCase(Locale.ROOT)) {
+            case "html" -> ARCHIVO_HTML;
+            case "csv" -> ARCHIVO_CSV;
+            default -> throw new IllegalArgumentException(
+                    "Formato no soportado: " + formato + " (se acepta html o csv).");
+        };
+        if (trabajo.estado != Estado.COMPLETADO) {
+            throw new IllegalStateException("El trabajo " + id + " está en estado " + trabajo.estado + ".");
+        }
+        return directorio.resolve(trabajo.id).resolve(nombre);
+    }
+
+    @PreDestroy
+    public void detener() {
+        ejecutorTrabajos.shutdownNow();
+        ejecutorParticiones.shutdownNow();
+    }
+
+    // ==================== EJECUCIÓN ====================
+
+    private void ejecutar(Trabajo trabajo) {
+        trabajo.iniciado = Instant.now();
+        trabajo.estado = Estado.EN_PROCESO;
+
+        CompletionService<Particion> particiones = new ExecutorCompletionService<>(ejecutorParticiones);
+        List<Future<Particion>> pendientes = new ArrayList<>(trabajo.cursos.size());
+        try {
+            for (CursoCatalogo curso : trabajo.cursos) {
+                pendientes.add(particiones.submit(() -> calcularParticion(curso)));
+            }
+
+            // Las particiones se agrupan por alumno a medida que terminan, en el orden en que terminan
+            Map<Long, AlumnoResumen> alumnos = new HashMap<>();
+            Map<Long, List<EstadisticasCurso>> cursosPorAlumno = new HashMap<>();
+            for (int i = 0; i < pendientes.size(); i++) {
+                Particion particion = particiones.take().get();
+                for (AlumnoResumen alumno : particion.alumnos()) {
+                    alumnos.putIfAbsent(alumno.id(), alumno);
+                    cursosPorAlumno.computeIfAbsent(alumno.id(), id -> new ArrayList<>()).add(particion.estadisticas());
+                }
+                trabajo.cursosProcesados.incrementAndGet();
+            }
+
+            List<AlumnoResumen> ordenados = alumnos.values().stream()
+                    .sorted(Comparator.comparing(AlumnoResumen::apellido, String.CASE_INSENSITIVE_ORDER)
+                            .thenComparing(AlumnoResumen::nombre, String.CASE_INSENSITIVE_ORDER)
+                            .thenComparing(AlumnoResumen::id))
+                    .toList();
+            cursosPorAlumno.values().forEach(cursos ->
+                    cursos.sort(Comparator.comparing(EstadisticasCurso::nombreCompleto)));
+
+            Path destino = Files.createDirectories(directorio.resolve(trabajo.id));
+            escribirHtml(destino.resolve(ARCHIVO_HTML), trabajo, ordenados, cursosPorAlumno);
+            escribirCsv(destino.resolve(ARCHIVO_CSV), ordenados, cursosPorAlumno);
+
+            trabajo.alumnos = ordenados.size();
+            trabajo.finalizar(Estado.COMPLETADO, null);
+            log.info("Trabajo de boletines {} completado: {} boletines de {} curso(s) en {} ms.", trabajo.id,
+                    ordenados.size(), trabajo.cursos.size(),
+                    trabajo.finalizado.toEpochMilli() - trabajo.iniciado.toEpochMilli());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendientes.forEach(pendiente -> pendiente.cancel(true));
+            trabajo.finalizar(Estado.FALLIDO, "Trabajo interrumpido.");
+        } catch (ExecutionException | IOException | RuntimeException e) {
+            pendientes.forEach(pendiente -> pendiente.cancel(true));
+            Throwable causa = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            trabajo.finalizar(Estado.FALLIDO, causa.getMessage());
+            log.error("Falló el trabajo de boletines {}.", trabajo.id, causa);
+        }
+    }
+
+    // Un curso eliminado mientras el trabajo está en curso se omite (sin alumnos ni núcleos)
+    private Particion calcularParticion(CursoCatalogo curso) {
+        try {
+            return new Particion(cursoService.calcularEstadisticas(curso.id()), alumnoService.findResumenByCurso(curso.id()));
+        } catch (NoSuchElementException e) {
+            return new Particion(new EstadisticasCurso(curso.id(), curso.nombreCompleto(), List.of(), 0,
+                    null, null, null, null), List.of());
+        }
+    }
+
+    // ==================== ARCHIVOS ====================
+
+    private void escribirHtml(Path archivo, Trabajo trabajo, List<AlumnoResumen> alumnos,
+                              Map<Long, List<EstadisticasCurso>> cursosPorAlumno) throws IOException {
+        String titulo = "Boletines" + (trabajo.anio != null ? " - " + trabajo.anio + "º año" : "")
+                + (trabajo.division != null ? " - División " + trabajo.division : "");
+        try (Writer html = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            html.write("<!DOCTYPE html>\n<html lang=\"es\">\n<head>\n<meta charset=\"UTF-8\">\n<title>");
+            html.write(HtmlUtils.htmlEscape(titulo));
+            html.write("</title>\n<style>\n"
+                    + "body { font-family: sans-serif; margin: 2em; }\n"
+                    + ".boletin { page-break-after: always; margin-bottom: 3em; }\n"
+                    + "table { border-collapse: collapse; width: 100%; }\n"
+                    + "th, td { border: 1px solid #999; padding: 4px 8px; text-align: left; }\n"
+                    + "td.promedio { text-align: right; }\n"
+                    + "tr.curso td { font-weight: bold; background: #eee; }\n"
+                    + "</style>\n</head>\n<body>\n");
+            for (AlumnoResumen alumno : alumnos) {
+                html.write("<section class=\"boletin\">\n<h2>");
+                html.write(HtmlUtils.htmlEscape(alumno.apellido() + ", " + alumno.nombre()));
+                html.write("</h2>\n<p>DNI: ");
+                html.write(HtmlUtils.htmlEscape(String.valueOf(alumno.dni())));
+                html.write(" &middot; ");
+                html.write(HtmlUtils.htmlEscape(titulo));
+                html.write("</p>\n<table>\n<thead><tr><th>Curso / Núcleo</th><th>Promedio</th></tr></thead>\n<tbody>\n");
+                for (EstadisticasCurso curso : cursosPorAlumno.get(alumno.id())) {
+                    html.write("<tr class=\"curso\"><td>");
+                    html.write(HtmlUtils.htmlEscape(curso.nombreCompleto()));
+                    html.write("</td><td class=\"promedio\">");
+                    html.write(promedio(curso.promedio(), "—"));
+                    html.write("</td></tr>\n");
+                    for (EstadisticasCurso.Nucleo nucleo : curso.nucleos()) {
+                        html.write("<tr><td>");
+                        html.write(HtmlUtils.htmlEscape(nucleo.tema()));
+                        html.write("</td><td class=\"promedio\">");
+                        html.write(promedio(nucleo.promedio(), "—"));
+                        html.write("</td></tr>\n");
+                    }
+                }
+                html.write("</tbody>\n</table>\n</section>\n");
+            }
+            html.write("</body>\n</html>\n");
+        }
+    }
+
+    private void escribirCsv(Path archivo, List<AlumnoResumen> alumnos,
+                             Map<Long, List<EstadisticasCurso>> cursosPorAlumno) throws IOException {
+        try (OutputStream salida = Files.newOutputStream(archivo);
+             Planilla csv = new PlanillaCsv(salida)) {
+            csv.encabezado("alumnoId", "apellido", "nombre", "dni", "cursoId", "curso", "promedioCurso",
+                    "nucleoId", "nucleo", "promedioNucleo");
+            for (AlumnoResumen alumno : alumnos) {
+                for (EstadisticasCurso curso : cursosPorAlumno.get(alumno.id())) {
+                    for (EstadisticasCurso.Nucleo nucleo : curso.nucleos()) {
+                        csv.fila(alumno.id(), alumno.apellido(), alumno.nombre(), alumno.dni(), curso.cursoId(),
+                                curso.nombreCompleto(), promedio(curso.promedio(), null), nucleo.nucleoId(),
+                                nucleo.tema(), promedio(nucleo.promedio(), null));
+                    }
+                }
+            }
+        }
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private Trabajo buscar(String id) {
+        Trabajo trabajo = trabajos.get(id);
+        if (trabajo == null) {
+            throw new NoSuchElementException("Trabajo de boletines " + id + " no encontrado.");
+        }
+        return trabajo;
+    }
+
+    // Llamado con el registro bloqueado; los trabajos pendientes o en proceso nunca se descartan
+    private List<Trabajo> descartarTrabajosAntiguos() {
+        List<Trabajo> descartados = new ArrayList<>();
+        var iterador = trabajosPorAntiguedad.iterator();
+        while (trabajos.size() > MAXIMO_TRABAJOS_REGISTRADOS && iterador.hasNext()) {
+            Trabajo trabajo = iterador.next();
+            if (trabajo.estado == Estado.COMPLETADO || trabajo.estado == Estado.FALLIDO) {
+                iterador.remove();
+                trabajos.remove(trabajo.id);
+                descartados.add(trabajo);
+            }
+        }
+        return descartados;
+    }
+
+    // Un trabajo fallido puede haber dejado su directorio a medio escribir; también se borra
+    private void borrarArchivos(Trabajo trabajo) {
+        try {
+            FileSystemUtils.deleteRecursively(directorio.resolve(trabajo.id));
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el directorio del trabajo de boletines descartado {}.", trabajo.id, e);
+        }
+    }
+
+    private static String promedio(Double promedio, String sinNotas) {
+        return promedio == null ? sinNotas : String.format(Locale.ROOT, "%.2f", promedio);
+    }
+
+    private static ThreadFactory fabricaHilos(String prefijo, boolean virtuales) {
+        return virtuales ? Thread.ofVirtual().name(prefijo, 1).factory() : Thread.ofPlatform().name(prefijo, 1).factory();
+    }
+
+    private record Particion(EstadisticasCurso estadisticas, List<AlumnoResumen> alumnos) {
+    }
+
+    /**
+     * Estado mutable de un trabajo. Lo modifica solo el hilo que lo ejecuta; las consultas leen
+     * los campos volátiles sin bloquear.
+     */
+    private static final class Trabajo {
+
+        private final String id;
+        private final Integer anio;
+        private final String division;
+        private final List<CursoCatalogo> cursos;
+        private final Instant creado = Instant.now();
+        private final AtomicInteger cursosProcesados = new AtomicInteger();
+
+        private volatile Estado estado = Estado.PENDIENTE;
+        private volatile Instant iniciado;
+        private volatile Instant finalizado;
+        private volatile int alumnos;
+        private volatile String error;
+
+        Trabajo(String id, Integer anio, String division, List<CursoCatalogo> cursos) {
+            this.id = id;
+            this.anio = anio;
+            this.division = division;
+            this.cursos = cursos;
+        }
+
+        void finalizar(Estado estadoFinal, String causa) {
+            error = causa;
+            finalizado = Instant.now();
+            estado = estadoFinal;
+        }
+
+        EstadoTrabajoBoletines estado() {
+            Estado actual = estado;
+            int procesados = cursosProcesados.get();
+            // El 100 % se reserva para cuando los archivos ya están escritos
+            int porcentaje = actual == Estado.COMPLETADO ? 100 : Math.min(99, procesados * 100 / cursos.size());
+            return new EstadoTrabajoBoletines(id, actual, anio, division, cursos.size(), procesados, porcentaje,
+                    alumnos, creado, iniciado, finalizado, error);
+        }
+    }
+}
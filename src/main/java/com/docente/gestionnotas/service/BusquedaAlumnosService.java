@@ -0,0 +1,331 @@
+package com.docente.gestionnotas.service;
+
+import com.docente.gestionnotas.dto.AlumnoResumen;
+import com.docente.gestionnotas.repository.AlumnoRepository;
+import com.docente.gestionnotas.repository.PatronesLike;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Búsqueda de alumnos por prefijo de apellido, nombre o DNI.
+ * Mantiene en memoria un índice ordenado de términos normalizados (minúsculas, sin acentos)
+ * hacia los IDs de los alumnos que los contienen: cada término de la consulta se resuelve
+ * con un recorrido por rango del índice, sin leer la base. El índice se carga al iniciar
+ * la aplicación y {@link AlumnoService} lo actualiza al confirmarse cada alta, modificación o baja.
+ */
+@Service
+public class BusquedaAlumnosService {
+
+    private static final Logger log = LoggerFactory.getLogger(BusquedaAlumnosService.class);
+
+    // Resultados por defecto y máximos de una búsqueda
+    private static final int LIMITE_DEFECTO = 20;
+    private static final int LIMITE_MAXIMO = 100;
+
+    // Alumnos leídos por consulta al cargar el índice
+    private static final int TAMANIO_LOTE_CARGA = 5000;
+
+    // Puntaje de cada tipo de coincidencia (se suma el mejor de cada término de la consulta)
+    private static final int PUNTAJE_DNI_EXACTO = 100;
+    private static final int PUNTAJE_DNI_PREFIJO = 60;
+    private static final int PUNTAJE_APELLIDO_EXACTO = 50;
+    private static final int PUNTAJE_NOMBRE_EXACTO = 40;
+    private static final int PUNTAJE_APELLIDO_PREFIJO = 30;
+    private static final int PUNTAJE_NOMBRE_PREFIJO = 20;
+
+    private static final Pattern SEPARADORES = Pattern.compile("[\\s,;\\-]+");
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private final AlumnoRepository alumnoRepository;
+
+    // Término normalizado -> IDs de los alumnos que lo contienen (en apellido, nombre o DNI)
+    private final ConcurrentSkipListMap<String, Set<Long>> indice = new ConcurrentSkipListMap<>();
+    // ID -> entrada indexada (datos a devolver y términos por campo, para puntuar y desindexar)
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+
+    // Serializa las escrituras del índice. ReentrantLock y no synchronized: un hilo virtual que espera
+    // un monitor queda fijado a su hilo portador, y estas escrituras corren en los hilos de las solicitudes
+    private final ReentrantLock escritura = new ReentrantLock();
+
+    // IDs indexados o quitados por transacciones confirmadas mientras se carga el índice (protegido por
+    // escritura): la carga lee un lote antes de aplicarlo, y sin este registro reinsertaría un alumno ya
+    // eliminado o pisaría sus datos nuevos con los leídos antes del cambio
+    private final Set<Long> cambiadosDuranteCarga = new HashSet<>();
+
+    private volatile boolean cargado;
+
+    public BusquedaAlumnosService(AlumnoRepository alumnoRepository) {
+        this.alumnoRepository = alumnoRepository;
+    }
+
+    /**
+     * Busca alumnos cuyo apellido, nombre o DNI empiecen con cada término de la consulta
+     * (todos los términos deben coincidir). Los resultados se ordenan por puntaje
+     * (DNI exacto, luego apellido y nombre exactos, luego prefijos) y después por apellido y nombre.
+     *
+     * @param consulta texto libre, p. ej. "gonz mar" o "3012"
+     * @param limite   cantidad máxima de resultados (null usa 20, máximo 100)
+     */
+    public List<AlumnoResumen> buscar(String consulta, Integer limite) {
+        int maximo = limite == null || limite < 1 ? LIMITE_DEFECTO : Math.min(limite, LIMITE_MAXIMO);
+        List<String> terminos = terminos(consulta);
+        if (terminos.isEmpty()) {
+            return List.of();
+        }
+        if (!cargado) {
+            return buscarEnBase(terminos.get(0), maximo);
+        }
+
+        // Se parte del término con menos candidatos y se filtra con los demás
+        List<Set<Long>> candidatosPorTermino = new ArrayList<>(terminos.size());
+        for (String termino : terminos) {
+            Set<Long> candidatos = candidatos(termino);
+            if (candidatos.isEmpty()) {
+                return List.of();
+            }
+            candidatosPorTermino.add(candidatos);
+        }
+        candidatosPorTermino.sort(Comparator.comparingInt(Set::size));
+        Set<Long> resultado = candidatosPorTermino.get(0);
+        for (int i = 1; i < candidatosPorTermino.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(candidatosPorTermino.get(i));
+        }
+
+        List<Puntuado> puntuados = new ArrayList<>(resultado.size());
+        for (Long id : resultado) {
+            Entrada entrada = entradas.get(id);
+            if (entrada != null) {
+                puntuados.add(new Puntuado(entrada, puntaje(entrada, terminos)));
+            }
+        }
+        puntuados.sort(Comparator.comparingInt(Puntuado::puntaje).reversed()
+                .thenComparing(p -> p.entrada().clave()));
+        return puntuados.stream()
+                .limit(maximo)
+                .map(p -> p.entrada().alumno())
+                .toList();
+    }
+
+    /**
+     * Indexa (o reindexa) un alumno cuando se confirma la transacción actual.
+     * Si la transacción se revierte, el índice no cambia.
+     */
+    public void indexarAlConfirmar(AlumnoResumen alumno) {
+        alConfirmar(() -> indexar(alumno));
+    }
+
+    /**
+     * Quita un alumno del índice cuando se confirma la transacción actual.
+     */
+    public void quitarAlConfirmar(Long id) {
+        alConfirmar(() -> quitar(id));
+    }
+
+    /**
+     * Carga el índice con todos los alumnos, por lotes de IDs crecientes.
+     * Mientras tanto, las búsquedas se resuelven contra la base; los alumnos que una transacción
+     * confirmada indexa o quita durante la carga conservan ese cambio y la carga los omite.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarIndice() {
+        long inicio = System.nanoTime();
+        List<AlumnoResumen> lote = alumnoRepository.findResumenDesdeId(0L, Limit.of(TAMANIO_LOTE_CARGA));
+        while (!lote.isEmpty()) {
+            indexarLoteDeCarga(lote);
+            lote = alumnoRepository.findResumenDesdeId(lote.get(lote.size() - 1).id(), Limit.of(TAMANIO_LOTE_CARGA));
+        }
+        escritura.lock();
+        try {
+            cargado = true;
+            cambiadosDuranteCarga.clear();
+        } finally {
+            escritura.unlock();
+        }
+        log.info("Índice de búsqueda de alumnos cargado: {} alumnos, {} términos en {} ms.",
+                entradas.size(), indice.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private void indexar(AlumnoResumen alumno) {
+        Entrada entrada = Entrada.de(alumno);
+        escritura.lock();
+        try {
+            registrarCambioDuranteCarga(alumno.id());
+            reemplazarEntrada(alumno.id(), entrada);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private void quitar(Long id) {
+        escritura.lock();
+        try {
+            registrarCambioDuranteCarga(id);
+            quitarEntrada(id);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private void indexarLoteDeCarga(List<AlumnoResumen> lote) {
+        List<Entrada> nuevas = lote.stream().map(Entrada::de).toList();
+        escritura.lock();
+        try {
+            for (Entrada entrada : nuevas) {
+                Long id = entrada.alumno().id();
+                if (!cambiadosDuranteCarga.contains(id)) {
+                    reemplazarEntrada(id, entrada);
+                }
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    // Los tres métodos siguientes se llaman con el bloqueo de escritura tomado
+
+    private void registrarCambioDuranteCarga(Long id) {
+        if (!cargado) {
+            cambiadosDuranteCarga.add(id);
+        }
+    }
+
+    private void reemplazarEntrada(Long id, Entrada entrada) {
+        quitarEntrada(id);
+        entradas.put(id, entrada);
+        entrada.todosLosTerminos().forEach(termino ->
+                indice.computeIfAbsent(termino, t -> ConcurrentHashMap.newKeySet()).add(id));
+    }
+
+    private void quitarEntrada(Long id) {
+        Entrada anterior = entradas.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        anterior.todosLosTerminos().forEach(termino ->
+                indice.computeIfPresent(termino, (t, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                }));
+    }
+
+    // IDs de los alumnos con algún término que empieza con el prefijo (recorrido por rango)
+    private Set<Long> candidatos(String prefijo) {
+        NavigableMap<String, Set<Long>> rango = indice.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false);
+        Set<Long> ids = new HashSet<>();
+        rango.values().forEach(ids::addAll);
+        return ids;
+    }
+
+    private static int puntaje(Entrada entrada, List<String> terminos) {
+        int total = 0;
+        for (String termino : terminos) {
+            int mejor = 0;
+            if (entrada.dni() != null && entrada.dni().startsWith(termino)) {
+                mejor = entrada.dni().equals(termino) ? PUNTAJE_DNI_EXACTO : PUNTAJE_DNI_PREFIJO;
+            }
+            mejor = Math.max(mejor, puntajeCampo(entrada.apellidos(), termino,
+                    PUNTAJE_APELLIDO_EXACTO, PUNTAJE_APELLIDO_PREFIJO));
+            mejor = Math.max(mejor, puntajeCampo(entrada.nombres(), termino,
+                    PUNTAJE_NOMBRE_EXACTO, PUNTAJE_NOMBRE_PREFIJO));
+            total += mejor;
+        }
+        return total;
+    }
+
+    private static int puntajeCampo(List<String> palabras, String termino, int exacto, int prefijo) {
+        int mejor = 0;
+        for (String palabra : palabras) {
+            if (palabra.equals(termino)) {
+                return exacto;
+            }
+            if (palabra.startsWith(termino)) {
+                mejor = prefijo;
+            }
+        }
+        return mejor;
+    }
+
+    // Búsqueda por el primer término (ya normalizado) contra la base, mientras el índice no está cargado
+    private List<AlumnoResumen> buscarEnBase(String termino, int maximo) {
+        return alumnoRepository.buscarPorPrefijo(PatronesLike.prefijo(termino), Limit.of(maximo));
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    // Minúsculas, sin acentos; el DNI se indexa sin puntos para aceptar "30.123.456" y "30123456".
+    // V3__busqueda_alumnos_por_prefijo.sql reproduce esta normalización en las columnas *_busqueda
+    static String normalizar(String texto) {
+        String sinAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinAcentos.toLowerCase().replace(".", "");
+    }
+
+    private static List<String> terminos(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARADORES.split(normalizar(texto.trim())))
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * @param clave orden de desempate entre resultados con el mismo puntaje (apellido, nombre, ID)
+     */
+    private record Entrada(AlumnoResumen alumno, List<String> apellidos, List<String> nombres, String dni,
+                           String clave) {
+
+        static Entrada de(AlumnoResumen alumno) {
+            List<String> apellidos = terminos(alumno.apellido());
+            List<String> nombres = terminos(alumno.nombre());
+            return new Entrada(alumno, apellidos, nombres,
+                    alumno.dni() == null ? null : normalizar(alumno.dni().trim()),
+                    String.join(" ", apellidos) + '|' + String.join(" ", nombres) + '|' + alumno.id());
+        }
+
+        Set<String> todosLosTerminos() {
+            Set<String> todos = new HashSet<>(apellidos);
+            todos.addAll(nombres);
+            if (dni != null && !dni.isEmpty()) {
+                todos.add(dni);
+            }
+            return todos;
+        }
+    }
+
+    private record Puntuado(Entrada entrada, int puntaje) {
+    }
+}
@@ -1,28 +1,74 @@
 package com.docente.gestionnotas.service;
 
+import com.docente.gestionnotas.config.CacheConfig;
+import com.docente.gestionnotas.config.MetricasConfig;
+import com.docente.gestionnotas.dto.CursoCatalogo;
+import com.docente.gestionnotas.dto.CursoConNotas;
+import com.docente.gestionnotas.dto.CursoDetalle;
+import com.docente.gestionnotas.dto.CursoListado;
+import com.docente.gestionnotas.dto.CursoResumen;
+import com.docente.gestionnotas.dto.EstadisticasCurso;
+import com.docente.gestionnotas.dto.FiltroCursos;
+import com.docente.gestionnotas.dto.NotaResumen;
+import com.docente.gestionnotas.dto.NucleoConNotas;
+import com.docente.gestionnotas.dto.ResultadoEliminacionMasiva;
 import com.docente.gestionnotas.model.Curso;
 import com.docente.gestionnotas.model.NucleoPedagogico;
-import com.docente.gestionnotas.model.Nota;
 import com.docente.gestionnotas.repository.CursoRepository;
+import com.docente.gestionnotas.repository.CursoSpecifications;
+import com.docente.gestionnotas.repository.NotaRepository;
+import com.docente.gestionnotas.repository.NucleoPedagogicoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.OptionalDouble;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricasConfig.TIMER_SERVICIOS, histogram = true)
 public class CursoService {
 
+    // Orden del listado filtrado: coincide con el índice (anio, division, nombreMateria)
+    private static final Sort ORDEN_LISTADO = Sort.by("anio", "division", "nombreMateria", "id");
+
+    // Cantidad máxima de IDs por sentencia en la eliminación masiva (acota el tamaño del IN)
+    private static final int TAMANIO_LOTE_ELIMINACION = 500;
+
     private final CursoRepository cursoRepository;
+    private final NucleoPedagogicoRepository nucleoRepository;
+    private final NotaRepository notaRepository;
+    private final int tamanioPaginaDefecto;
+    private final int tamanioPaginaMaximo;
 
-    public CursoService(CursoRepository cursoRepository) {
+    public CursoService(CursoRepository cursoRepository,
+                        NucleoPedagogicoRepository nucleoRepository,
+                        NotaRepository notaRepository,
+                        @Value("${gestion.cursos.pagina.tamanio-defecto:20}") int tamanioPaginaDefecto,
+                        @Value("${gestion.cursos.pagina.tamanio-maximo:100}") int tamanioPaginaMaximo) {
         this.cursoRepository = cursoRepository;
+        this.nucleoRepository = nucleoRepository;
+        this.notaRepository = notaRepository;
+        this.tamanioPaginaDefecto = tamanioPaginaDefecto;
+        this.tamanioPaginaMaximo = tamanioPaginaMaximo;
     }
 
     // --- Métodos CRUD Básicos ---
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATALOGO_CURSOS, allEntries = true)
     public Curso save(Curso curso) {
         return cursoRepository.save(curso);
     }
@@ -33,11 +79,149 @@ public class CursoService {
                 .orElseThrow(() -> new NoSuchElementException("Curso con ID " + id + " no encontrado."));
     }
 
+    /**
+     * Carga un curso con sus núcleos y las notas de cada núcleo ya inicializadas,
+     * para que la vista de detalle no dispare cargas perezosas (dos consultas en total).
+     * @throws NoSuchElementException si el curso no existe
+     */
+    @Transactional(readOnly = true)
+    public Curso findConNucleosYNotas(Long id) {
+        Curso curso = cursoRepository.findConNucleosById(id)
+                .orElseThrow(() -> new NoSuchElementException("Curso con ID " + id + " no encontrado."));
+        // Inicializa las notas de los núcleos ya cargados en el contexto de persistencia
+        nucleoRepository.findConNotasByCursoId(id);
+        return curso;
+    }
+
     @Transactional(readOnly = true)
     public List<Curso> findAll() {
         return cursoRepository.findAll();
     }
 
+    // --- Consultas de solo lectura (proyecciones DTO) ---
+    // Cada método ejecuta un número fijo de consultas y nunca recorre el grafo de entidades.
+
+    /**
+     * Catálogo de cursos (id, nombre completo, año, división) ordenado por nombre.
+     * Se sirve desde caché: solo va a la base después de una evicción (alta, baja o
+     * modificación de un curso) o cuando vence la entrada.
+     */
+    @Cacheable(cacheNames = CacheConfig.CATALOGO_CURSOS, key = "'todos'")
+    @Transactional(readOnly = true)
+    public List<CursoCatalogo> findCatalogo() {
+        // Copia inmutable: la misma instancia se comparte entre todas las solicitudes
+        return List.copyOf(cursoRepository.findCatalogo());
+    }
+
+    /**
+     * Página de cursos que cumplen los filtros, ordenada por año, división y materia.
+     * Con año (y división) informados la consulta se resuelve con el índice compuesto
+     * en lugar de recorrer la tabla.
+     *
+     * @param pagina  número de página, desde 0
+     * @param tamanio cursos por página (null usa el valor configurado)
+     */
+    @Transactional(readOnly = true)
+    public Page<CursoResumen> buscar(FiltroCursos filtro, Integer pagina, Integer tamanio) {
+        int numero = pagina == null || pagina < 0 ? 0 : pagina;
+        int limite = tamanio == null || tamanio < 1 ? tamanioPaginaDefecto : Math.min(tamanio, tamanioPaginaMaximo);
+        return cursoRepository.findAll(CursoSpecifications.de(filtro), PageRequest.of(numero, limite, ORDEN_LISTADO))
+                .map(CursoResumen::de);
+    }
+
+    /**
+     * Página del listado de cursos con la cantidad de alumnos, núcleos y notas de cada uno.
+     * Los filtros y el orden son los de {@link #buscar}; las cantidades de la página se obtienen
+     * con una única consulta agrupada, sin inicializar colecciones.
+     */
+    @Transactional(readOnly = true)
+    public Page<CursoListado> buscarListado(FiltroCursos filtro, Integer pagina, Integer tamanio) {
+        Page<CursoResumen> cursos = buscar(filtro, pagina, tamanio);
+        if (!cursos.hasContent()) {
+            return Page.empty(cursos.getPageable());
+        }
+        Map<Long, CursoListado> listadoPorId = cursoRepository
+                .findListadoByIdIn(cursos.map(CursoResumen::id).getContent()).stream()
+                .collect(Collectors.toMap(CursoListado::id, c -> c));
+        return cursos.map(c -> listadoPorId.get(c.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursoResumen findResumen(Long id) {
+        return cursoRepository.findResumenById(id)
+                .orElseThrow(() -> new NoSuchElementException("Curso con ID " + id + " no encontrado."));
+    }
+
+    /**
+     * Detalle del curso: datos, cantidad de alumnos y núcleos (tres consultas).
+     */
+    @Transactional(readOnly = true)
+    public CursoDetalle findDetalle(Long id) {
+        CursoResumen curso = findResumen(id);
+        return new CursoDetalle(curso.id(), curso.nombreCompleto(), curso.nombreMateria(),
+                curso.anio(), curso.division(),
+                cursoRepository.countAlumnosByCursoId(id),
+                nucleoRepository.findResumenByCursoId(id));
+    }
+
+    /**
+     * Curso con todos sus núcleos y notas (tres consultas, agrupando las notas en memoria).
+     */
+    @Transactional(readOnly = true)
+    public CursoConNotas findConNotas(Long id) {
+        CursoResumen curso = findResumen(id);
+        Map<Long, List<NotaResumen>> notasPorNucleo = nucleoRepository.findNotasResumenByCursoId(id).stream()
+                .collect(Collectors.groupingBy(NotaResumen::nucleoId));
+
+        List<NucleoConNotas> nucleos = nucleoRepository.findResumenByCursoId(id).stream()
+                .map(n -> new NucleoConNotas(n.id(), n.tema(), n.descripcion(),
+                        notasPorNucleo.getOrDefault(n.id(), List.of())))
+                .toList();
+
+        return new CursoConNotas(curso.id(), curso.nombreCompleto(), nucleos);
+    }
+
+    // --- Estadísticas ---
+
+    /**
+     * Calcula las estadísticas de notas de todo el curso (por núcleo y totales)
+     * con una única consulta agrupada sobre nota y nucleo_pedagogico.
+     */
+    @Transactional(readOnly = true)
+    public EstadisticasCurso calcularEstadisticas(Long cursoId) {
+        CursoResumen curso = findResumen(cursoId);
+
+        List<EstadisticasCurso.Nucleo> nucleos = new ArrayList<>();
+        long cantidadTotal = 0;
+        long sumaTotal = 0;
+        long sumaCuadradosTotal = 0;
+        Integer minimoTotal = null;
+        Integer maximoTotal = null;
+
+        for (Object[] fila : nucleoRepository.calcularEstadisticasPorCurso(cursoId)) {
+            long cantidad = aLong(fila[2]);
+            long suma = aLong(fila[3]);
+            long sumaCuadrados = aLong(fila[4]);
+            Integer minimo = fila[5] == null ? null : ((Number) fila[5]).intValue();
+            Integer maximo = fila[6] == null ? null : ((Number) fila[6]).intValue();
+
+            nucleos.add(new EstadisticasCurso.Nucleo((Long) fila[0], (String) fila[1], cantidad,
+                    promedio(cantidad, suma), minimo, maximo, desviacion(cantidad, suma, sumaCuadrados)));
+
+            cantidadTotal += cantidad;
+            sumaTotal += suma;
+            sumaCuadradosTotal += sumaCuadrados;
+            if (minimo != null) {
+                minimoTotal = minimoTotal == null ? minimo : Math.min(minimoTotal, minimo);
+                maximoTotal = maximoTotal == null ? maximo : Math.max(maximoTotal, maximo);
+            }
+        }
+
+        return new EstadisticasCurso(curso.id(), curso.nombreCompleto(), nucleos, cantidadTotal,
+                promedio(cantidadTotal, sumaTotal), minimoTotal, maximoTotal,
+                desviacion(cantidadTotal, sumaTotal, sumaCuadradosTotal));
+    }
+
     // --- Lógica de Negocio Específica ---
 
     /**
@@ -46,37 +230,76 @@ public class CursoService {
      */
     @Transactional(readOnly = true)
     public double calcularPromedioNucleo(Long cursoId, Long nucleoId) {
-        Curso curso = findById(cursoId);
-
-        NucleoPedagogico nucleo = curso.getNucleos().stream()
-                .filter(n -> n.getId().equals(nucleoId))
-                .findFirst()
+        // Se lee solo el núcleo: el promedio sale de sus agregados, sin cargar curso ni notas.
+        NucleoPedagogico nucleo = nucleoRepository.findById(nucleoId)
+                .filter(n -> n.getCurso() != null && cursoId.equals(n.getCurso().getId()))
                 .orElseThrow(() -> new NoSuchElementException("Núcleo no encontrado en el curso " + cursoId));
 
-        if (nucleo.getNotas() == null || nucleo.getNotas().isEmpty()) {
-            return 0.0;
-        }
-
-        OptionalDouble promedio = nucleo.getNotas().stream()
-                .mapToInt(Nota::getValor)
-                .average();
-
-        return promedio.orElse(0.0);
+        return nucleo.calcularPromedio();
     }
 
+    /**
+     * Elimina un curso con sus núcleos, sus notas y sus inscripciones, mediante sentencias por
+     * conjuntos (ver {@link #eliminarEnLote}): no carga el curso ni recorre sus colecciones.
+     * @throws NoSuchElementException si el curso no existe
+     */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATALOGO_CURSOS, allEntries = true)
     public void deleteById(Long id) {
-        Curso curso = findById(id); // Usa findById para asegurar que exista
+        if (!cursoRepository.existsById(id)) {
+            throw new NoSuchElementException("Curso con ID " + id + " no encontrado.");
+        }
+        eliminar(List.of(id));
+    }
+
+    /**
+     * Elimina varios cursos con sus núcleos, notas e inscripciones.
+     * Cada lote de IDs se resuelve con cuatro sentencias (notas, núcleos, alumno_curso y cursos),
+     * en ese orden para respetar las claves foráneas, sin importar cuántas filas dependan de ellos.
+     * Hibernate invalida las regiones de la caché de segundo nivel de las tablas afectadas.
+     * Los IDs nulos, repetidos o inexistentes se ignoran.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATALOGO_CURSOS, allEntries = true)
+    public ResultadoEliminacionMasiva eliminarEnLote(Collection<Long> cursoIds) {
+        return eliminar(cursoIds);
+    }
 
-        // La eliminación en cascada de los Núcleos/Notas ya se maneja por la anotación @OneToMany.
+    // ==================== MÉTODOS AUXILIARES ====================
 
-        // Lo más importante: Para la relación M:M, si Curso NO es el dueño,
-        // la tabla intermedia (alumno_curso) debe actualizarse.
-        // JPA debería manejar esto automáticamente, pero para garantizar que los alumnos
-        // no queden con una referencia rota, vaciaremos la lista de alumnos del curso antes de eliminarlo (medida de seguridad).
-        curso.getAlumnos().clear();
-        cursoRepository.save(curso); // Persiste el cambio de la relación
+    private ResultadoEliminacionMasiva eliminar(Collection<Long> cursoIds) {
+        // Se eliminan nulos y duplicados; el tamaño del lote acota el IN de cada sentencia
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(
+                cursoIds.stream().filter(Objects::nonNull).toList()));
 
-        cursoRepository.delete(curso);
+        int cursos = 0;
+        int nucleos = 0;
+        int notas = 0;
+        int inscripciones = 0;
+        for (int desde = 0; desde < ids.size(); desde += TAMANIO_LOTE_ELIMINACION) {
+            List<Long> lote = ids.subList(desde, Math.min(desde + TAMANIO_LOTE_ELIMINACION, ids.size()));
+            notas += notaRepository.eliminarPorCursoIds(lote);
+            nucleos += nucleoRepository.eliminarPorCursoIds(lote);
+            inscripciones += cursoRepository.eliminarInscripcionesPorCursoIds(lote);
+            cursos += cursoRepository.eliminarPorIds(lote);
+        }
+        return new ResultadoEliminacionMasiva(ids.size(), cursos, ids.size() - cursos, nucleos, notas, inscripciones);
+    }
+
+    private static long aLong(Object valor) {
+        return valor == null ? 0L : ((Number) valor).longValue();
+    }
+
+    private static Double promedio(long cantidad, long suma) {
+        return cantidad == 0 ? null : (double) suma / cantidad;
+    }
+
+    // Desviación estándar poblacional: sqrt(E[x²] - E[x]²)
+    private static Double desviacion(long cantidad, long suma, long sumaCuadrados) {
+        if (cantidad == 0) {
+            return null;
+        }
+        double media = (double) suma / cantidad;
+        return Math.sqrt(Math.max(0.0, (double) sumaCuadrados / cantidad - media * media));
     }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.docente.gestionnotas.service;
+
+import com.docente.gestionnotas.dto.EstadisticasNucleo;
+import com.docente.gestionnotas.dto.ResultadoVerificacionEstadisticas;
+import com.docente.gestionnotas.model.EstadisticasNotas;
+import com.docente.gestionnotas.model.NucleoPedagogico;
+import com.docente.gestionnotas.repository.NucleoPedagogicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Servicio de estadísticas de notas por núcleo.
+ * Las consultas se responden desde los agregados de {@link EstadisticasNotas};
+ * la verificación periódica los compara contra la tabla nota y reconstruye los que difieran.
+ */
+@Service
+public class EstadisticasNotasService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticasNotasService.class);
+
+    // Núcleos verificados por transacción: acota el tiempo que sus filas quedan bloqueadas
+    private static final int NUCLEOS_POR_TRAMO = 100;
+
+    private final NucleoPedagogicoRepository nucleoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public EstadisticasNotasService(NucleoPedagogicoRepository nucleoRepository,
+                                    TransactionTemplate transactionTemplate) {
+        this.nucleoRepository = nucleoRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Estadísticas de un núcleo (una consulta por clave primaria, sin leer notas).
+     * @throws NoSuchElementException si el núcleo no existe
+     */
+    @Transactional(readOnly = true)
+    public EstadisticasNucleo findByNucleo(Long nucleoId) {
+        NucleoPedagogico nucleo = nucleoRepository.findById(nucleoId)
+                .orElseThrow(() -> new NoSuchElementException(
+                        "Núcleo Pedagógico con ID " + nucleoId + " no encontrado."));
+        return EstadisticasNucleo.de(nucleoId, nucleo.getEstadisticas());
+    }
+
+    /**
+     * Compara los agregados de todos los núcleos con la tabla nota y reconstruye los que tengan
+     * diferencias. Se recorren tramos de NUCLEOS_POR_TRAMO núcleos por ID; cada tramo bloquea sus
+     * filas, cuenta sus notas y corrige en la misma transacción, así que una nota agregada o
+     * borrada durante la verificación no aparece como diferencia.
+     */
+    public ResultadoVerificacionEstadisticas verificarYCorregir() {
+        List<Long> corregidos = new ArrayList<>();
+        int revisados = 0;
+        Long ultimoId = 0L;
+        while (ultimoId != null) {
+            Long desdeId = ultimoId;
+            Tramo tramo = transactionTemplate.execute(estado -> verificarTramo(desdeId));
+            revisados += tramo.revisados();
+            corregidos.addAll(tramo.corregidos());
+            ultimoId = tramo.ultimoId();
+        }
+
+        if (!corregidos.isEmpty()) {
+            log.warn("Agregados de notas reconstruidos en {} núcleo(s): {}", corregidos.size(), corregidos);
+        }
+        return new ResultadoVerificacionEstadisticas(revisados, corregidos);
+    }
+
+    /**
+     * Reconstruye los agregados de un núcleo a partir de sus notas.
+     * @throws NoSuchElementException si el núcleo no existe
+     */
+    @Transactional
+    public EstadisticasNucleo reconstruir(Long nucleoId) {
+        return EstadisticasNucleo.de(nucleoId, reconstruirBloqueado(nucleoId));
+    }
+
+    /**
+     * Verificación programada (por defecto, todos los días a las 03:30).
+     */
+    @Scheduled(cron = "${gestion.estadisticas.verificacion.cron:0 30 3 * * *}")
+    public void verificacionProgramada() {
+        verificarYCorregir();
+    }
+
+    /**
+     * Verificación al iniciar: completa los agregados de núcleos creados antes de que existieran.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificacionInicial() {
+        verificarYCorregir();
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private Tramo verificarTramo(Long desdeId) {
+        List<NucleoPedagogico> nucleos = nucleoRepository.findParaActualizarDesdeId(desdeId, Limit.of(NUCLEOS_POR_TRAMO));
+        if (nucleos.isEmpty()) {
+            return new Tramo(0, List.of(), null);
+        }
+
+        List<Long> ids = nucleos.stream().map(NucleoPedagogico::getId).toList();
+        Map<Long, long[]> histogramasReales = new HashMap<>();
+        for (Object[] fila : nucleoRepository.contarNotasPorNucleoYValor(ids)) {
+            long[] histograma = histogramasReales.computeIfAbsent((Long) fila[0],
+                    id -> new long[EstadisticasNotas.NOTA_MAXIMA]);
+            acumularFila(histograma, (Integer) fila[1], (Long) fila[2]);
+        }
+
+        List<Long> corregidos = new ArrayList<>();
+        for (NucleoPedagogico nucleo : nucleos) {
+            long[] real = histogramasReales.getOrDefault(nucleo.getId(), new long[EstadisticasNotas.NOTA_MAXIMA]);
+            if (!nucleo.getEstadisticas().coincideCon(real)) {
+                nucleo.getEstadisticas().reconstruir(real);
+                corregidos.add(nucleo.getId());
+            }
+        }
+        Long ultimoId = nucleos.size() < NUCLEOS_POR_TRAMO ? null : ids.get(ids.size() - 1);
+        return new Tramo(nucleos.size(), corregidos, ultimoId);
+    }
+
+    // Con la fila del núcleo bloqueada ninguna escritura concurrente puede alterar el recuento
+    private EstadisticasNotas reconstruirBloqueado(Long nucleoId) {
+        NucleoPedagogico nucleo = nucleoRepository.findParaActualizarById(nucleoId)
+                .orElseThrow(() -> new NoSuchElementException(
+                        "Núcleo Pedagógico con ID " + nucleoId + " no encontrado."));
+
+        long[] histograma = new long[EstadisticasNotas.NOTA_MAXIMA];
+        for (Object[] fila : nucleoRepository.contarNotasPorValor(nucleoId)) {
+            acumularFila(histograma, (Integer) fila[0], (Long) fila[1]);
+        }
+        nucleo.getEstadisticas().reconstruir(histograma);
+        return nucleo.getEstadisticas();
+    }
+
+    private static void acumularFila(long[] histograma, Integer valor, Long cantidad) {
+        if (valor != null && valor >= EstadisticasNotas.NOTA_MINIMA && valor <= EstadisticasNotas.NOTA_MAXIMA) {
+            histograma[valor - EstadisticasNotas.NOTA_MINIMA] += cantidad;
+        }
+    }
+
+    /**
+     * Resultado de verificar un tramo de núcleos.
+     *
+     * @param ultimoId ID desde el que sigue el próximo tramo, o null si fue el último
+     */
+    private record Tramo(int revisados, List<Long> corregidos, Long ultimoId) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.docente.gestionnotas.service;
+
+import com.docente.gestionnotas.config.MetricasConfig;
+import com.docente.gestionnotas.dto.FilaPlanillaNotas;
+import com.docente.gestionnotas.repository.CursoRepository;
+import com.docente.gestionnotas.repository.NotaRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de la planilla de notas (CSV o XLSX) de un curso o de todos los cursos.
+ * Las filas se escriben a medida que se leen: una sola consulta trae cada nota con su núcleo y su
+ * curso y se recorre con un cursor hacia adelante, sin cargar el grafo Curso -> núcleos -> notas.
+ * La memoria usada no depende de la cantidad de notas.
+ * <p>
+ * El cursor ocupa una conexión del pool mientras el cliente descarga el archivo, así que las
+ * exportaciones de todos los cursos se limitan a gestion.exportacion.simultaneas a la vez.
+ */
+@Service
+@Timed(value = MetricasConfig.TIMER_SERVICIOS, histogram = true)
+public class ExportacionNotasService {
+
+    private static final String[] COLUMNAS = {
+            "cursoId", "curso", "materia", "anio", "division", "nucleoId", "nucleo", "notaId", "valor", "descripcion"};
+
+    private final CursoRepository cursoRepository;
+    private final NotaRepository notaRepository;
+    private final Semaphore exportacionesCompletas;
+
+    public ExportacionNotasService(CursoRepository cursoRepository,
+                                   NotaRepository notaRepository,
+                                   @Value("${gestion.exportacion.simultaneas:2}") int exportacionesSimultaneas) {
+        if (exportacionesSimultaneas < 1) {
+            throw new IllegalArgumentException("gestion.exportacion.simultaneas debe ser mayor que cero.");
+        }
+        this.cursoRepository = cursoRepository;
+        this.notaRepository = notaRepository;
+        this.exportacionesCompletas = new Semaphore(exportacionesSimultaneas);
+    }
+
+    /**
+     * Formatos de exportación, con su tipo de contenido y extensión de archivo.
+     */
+    public enum Formato {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String tipoContenido;
+        private final String extension;
+
+        Formato(String tipoContenido, String extension) {
+            this.tipoContenido = tipoContenido;
+            this.extension = extension;
+        }
+
+        public String getTipoContenido() {
+            return tipoContenido;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @throws IllegalArgumentException si el formato no es csv ni xlsx
+         */
+        public static Formato de(String nombre) {
+            try {
+                return valueOf(nombre.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Formato de exportación no soportado: " + nombre
+                        + " (se acepta csv o xlsx).");
+            }
+        }
+    }
+
+    /**
+     * Escribe las notas de un curso en la salida indicada, que no se cierra.
+     * @throws NoSuchElementException si el curso no existe
+     */
+    @Transactional(readOnly = true)
+    public void exportarCurso(Long cursoId, Formato formato, OutputStream salida) throws IOException {
+        if (!cursoRepository.existsById(cursoId)) {
+            throw new NoSuchElementException("Curso con ID " + cursoId + " no encontrado.");
+        }
+        try (Stream<FilaPlanillaNotas> filas = notaRepository.streamPlanillaByCursoId(cursoId)) {
+            exportar(filas, formato, salida);
+        }
+    }
+
+    /**
+     * Reserva un lugar para exportar todos los cursos. Quien lo obtiene debe llamar a
+     * {@link #exportarTodos} y luego, aunque falle, a {@link #liberarExportacionCompleta()}.
+     * @throws IllegalStateException si ya hay gestion.exportacion.simultaneas exportaciones en curso
+     */
+    public void reservarExportacionCompleta() {
+        if (!exportacionesCompletas.tryAcquire()) {
+            throw new IllegalStateException("Hay demasiadas exportaciones de notas en curso; intente más tarde.");
+        }
+    }
+
+    public void liberarExportacionCompleta() {
+        exportacionesCompletas.release();
+    }
+
+    /**
+     * Escribe las notas de todos los cursos (por año, división y materia) en la salida indicada, que no se cierra.
+     * Se llama tras {@link #reservarExportacionCompleta()}.
+     */
+    @Transactional(readOnly = true)
+    public void exportarTodos(Formato formato, OutputStream salida) throws IOException {
+        try (Stream<FilaPlanillaNotas> filas = notaRepository.streamPlanilla()) {
+            exportar(filas, formato, salida);
+        }
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private void exportar(Stream<FilaPlanillaNotas> filas, Formato formato, OutputStream salida) throws IOException {
+        try (Planilla planilla = abrir(formato, salida)) {
+            planilla.encabezado(COLUMNAS);
+            // El encabezado sale de inmediato: el cliente empieza a recibir el archivo antes de la primera nota
+            planilla.vaciar();
+            filas.forEach(fila -> {
+                try {
+                    planilla.fila(fila.cursoId(), fila.curso(), fila.materia(), fila.anio(), fila.division(),
+                            fila.nucleoId(), fila.nucleo(), fila.notaId(), fila.valor(), fila.descripcion());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Planilla abrir(Formato formato, OutputStream salida) {
+        return switch (formato) {
+            case CSV -> new PlanillaCsv(salida);
+            case XLSX -> new PlanillaXlsx(salida, "Notas");
+        };
+    }
+}
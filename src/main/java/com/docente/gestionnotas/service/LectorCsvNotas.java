@@ -0,0 +1,139 @@
+package com.docente.gestionnotas.service;
+
+import com.docente.gestionnotas.model.EstadisticasNotas;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de un CSV de notas con columnas {@code nucleoId,valor[,descripcion]}, línea por línea.
+ * Acepta ',' o ';' como separador, una marca BOM inicial, líneas vacías y un encabezado opcional
+ * en la primera línea no vacía; los campos pueden ir entre comillas dobles (RFC 4180).
+ */
+class LectorCsvNotas {
+
+    // Marca de orden de bytes que algunos editores (Excel, Bloc de notas) anteponen a un CSV en UTF-8
+    private static final char BOM = '\uFEFF';
+
+    private static final int LONGITUD_MAXIMA_DESCRIPCION = 200;
+
+    private final BufferedReader lector;
+    private int numeroLinea;
+    private boolean primeraLineaConDatos = true;
+    private char separador = ',';
+
+    /**
+     * Fila válida del CSV.
+     *
+     * @param descripcion null si la columna falta o está vacía
+     */
+    record Fila(long nucleoId, int valor, String descripcion) {
+    }
+
+    LectorCsvNotas(Reader origen) {
+        this.lector = origen instanceof BufferedReader b ? b : new BufferedReader(origen);
+    }
+
+    /**
+     * Próxima línea con datos, sin el encabezado ni las líneas vacías.
+     * @return la línea, o null al final del archivo
+     */
+    String siguienteLinea() throws IOException {
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            numeroLinea++;
+            if (numeroLinea == 1 && !linea.isEmpty() && linea.charAt(0) == BOM) {
+                linea = linea.substring(1);
+            }
+            if (linea.isBlank()) {
+                continue;
+            }
+            if (primeraLineaConDatos) {
+                primeraLineaConDatos = false;
+                separador = linea.indexOf(';') >= 0 && linea.indexOf(',') < 0 ? ';' : ',';
+                if (linea.toLowerCase().contains("valor")) {
+                    continue; // Encabezado
+                }
+            }
+            return linea;
+        }
+        return null;
+    }
+
+    /**
+     * Número (desde 1) de la última línea leída del archivo, contando las vacías y el encabezado.
+     */
+    int numeroLinea() {
+        return numeroLinea;
+    }
+
+    /**
+     * Interpreta y valida una línea devuelta por {@link #siguienteLinea()}.
+     * @throws IllegalArgumentException si la línea no es una nota válida
+     */
+    Fila parsear(String linea) {
+        List<String> campos = dividirLineaCsv(linea, separador);
+        if (campos.size() < 2) {
+            throw new IllegalArgumentException("se esperaban las columnas nucleoId y valor.");
+        }
+        long nucleoId = parsearEntero(campos.get(0), "nucleoId");
+        // El rango se comprueba sobre el long: convertir antes a int haría pasar 4294967297 por un 1
+        long valor = parsearEntero(campos.get(1), "valor");
+        String descripcion = campos.size() > 2 && !campos.get(2).isBlank() ? campos.get(2) : null;
+
+        // Regla de Negocio: La nota debe estar en el rango de 1 a 10.
+        if (valor < EstadisticasNotas.NOTA_MINIMA || valor > EstadisticasNotas.NOTA_MAXIMA) {
+            throw new IllegalArgumentException("El valor de la nota debe estar entre 1 y 10.");
+        }
+        if (descripcion != null && descripcion.length() > LONGITUD_MAXIMA_DESCRIPCION) {
+            throw new IllegalArgumentException("La descripción no puede exceder 200 caracteres");
+        }
+        return new Fila(nucleoId, (int) valor, descripcion);
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private static long parsearEntero(String texto, String columna) {
+        try {
+            return Long.parseLong(texto.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + texto + "' no es un valor numérico válido para " + columna + ".");
+        }
+    }
+
+    /**
+     * Divide una línea CSV respetando campos entre comillas dobles (que pueden
+     * contener el separador) y comillas escapadas como "".
+     */
+    static List<String> dividirLineaCsv(String linea, char separador) {
+        List<String> campos = new ArrayList<>(3);
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(actual.toString().trim());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString().trim());
+        return campos;
+    }
+}
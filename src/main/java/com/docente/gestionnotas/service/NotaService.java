@@ -1,56 +1,280 @@
 package com.docente.gestionnotas.service;
 
+import com.docente.gestionnotas.config.MetricasConfig;
+import com.docente.gestionnotas.dto.NotaResumen;
+import com.docente.gestionnotas.dto.ResultadoImportacion;
+import com.docente.gestionnotas.model.EstadisticasNotas;
 import com.docente.gestionnotas.model.NucleoPedagogico;
 import com.docente.gestionnotas.model.Nota;
 import com.docente.gestionnotas.repository.NotaRepository;
+import com.docente.gestionnotas.repository.NucleoPedagogicoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.TreeMap;
 
 @Service
+@Timed(value = MetricasConfig.TIMER_SERVICIOS, histogram = true)
 public class NotaService {
 
+    private static final String SQL_INSERTAR_NOTA =
+            "INSERT INTO nota (id, valor, descripcion, nucleo_id) VALUES (?, ?, ?, ?)";
+
+    // Máximo de errores detallados que se devuelven en el resultado de una importación
+    private static final int MAXIMO_ERRORES_INFORMADOS = 100;
+
     private final NotaRepository notaRepository;
-    private final NucleoPedagogicoService nucleoService;
+    private final NucleoPedagogicoRepository nucleoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanioLoteImportacion;
 
-    public NotaService(NotaRepository notaRepository, NucleoPedagogicoService nucleoService) {
+    public NotaService(NotaRepository notaRepository,
+                       NucleoPedagogicoRepository nucleoRepository,
+                       JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${gestion.notas.importacion.tamanio-lote:500}") int tamanioLoteImportacion) {
         this.notaRepository = notaRepository;
-        this.nucleoService = nucleoService;
+        this.nucleoRepository = nucleoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanioLoteImportacion = tamanioLoteImportacion;
+    }
+
+    /**
+     * Vista de una nota.
+     * @throws NoSuchElementException si la nota no existe
+     */
+    @Transactional(readOnly = true)
+    public NotaResumen findResumenById(Long id) {
+        return notaRepository.findResumenById(id)
+                .orElseThrow(() -> new NoSuchElementException("Nota con ID " + id + " no encontrada."));
     }
 
     /**
      * Agrega una nota a un núcleo pedagógico existente.
+     * La nota se inserta con una referencia (proxy) al núcleo: un único INSERT,
+     * sin cargar el núcleo ni su colección de notas. La fila del núcleo se bloquea
+     * recién después, solo para actualizar sus agregados antes del commit.
+     * @throws NoSuchElementException si el núcleo no existe
      */
     @Transactional
-    public NucleoPedagogico agregarNotaANucleo(Long nucleoId, Nota nota) {
-        NucleoPedagogico nucleo = nucleoService.findById(nucleoId);
-
+    public Nota agregarNotaANucleo(Long nucleoId, Nota nota) {
         // Regla de Negocio: La nota debe estar en el rango de 1 a 10.
-        if (nota.getValor() < 1 || nota.getValor() > 10) {
+        if (nota.getValor() == null || nota.getValor() < 1 || nota.getValor() > 10) {
             throw new IllegalArgumentException("El valor de la nota debe estar entre 1 y 10.");
         }
 
-        // 1. Guardar la nota para asignarle un ID.
-        Nota nuevaNota = notaRepository.save(nota);
+        nota.setId(null);
+        nota.setNucleo(nucleoRepository.getReferenceById(nucleoId));
+        Nota nuevaNota;
+        try {
+            // La clave foránea de nucleo_id reemplaza la consulta previa de existencia
+            nuevaNota = notaRepository.saveAndFlush(nota);
+        } catch (DataIntegrityViolationException e) {
+            throw new NoSuchElementException("Núcleo Pedagógico con ID " + nucleoId + " no encontrado.");
+        }
+
+        bloquearNucleo(nucleoId).getEstadisticas().registrar(nuevaNota.getValor());
+        return nuevaNota;
+    }
+
+    /**
+     * Importa notas desde un CSV con columnas {@code nucleoId,valor[,descripcion]} (ver {@link LectorCsvNotas}).
+     * El archivo se procesa fila por fila (nunca se carga completo en memoria),
+     * validando en la misma pasada, y las filas válidas se insertan en lotes JDBC.
+     * Las filas inválidas se omiten y se informan en el resultado.
+     * <p>
+     * Cada lote se confirma en su propia transacción junto con los agregados de sus núcleos,
+     * así los bloqueos de esos núcleos duran un lote y no toda la importación. Si la
+     * importación se interrumpe, los lotes ya confirmados quedan guardados.
+     */
+    public ResultadoImportacion importarCsv(Reader origen) throws IOException {
+        LectorCsvNotas lector = new LectorCsvNotas(origen);
+
+        // Cache de existencia de núcleos: una sola consulta por núcleo distinto del archivo
+        Map<Long, Boolean> nucleosExistentes = new HashMap<>();
+        List<FilaImportada> lote = new ArrayList<>(tamanioLoteImportacion);
+        List<String> errores = new ArrayList<>();
 
-        // 2. Añadir la nota a la lista del núcleo.
-        List<Nota> notas = nucleo.getNotas();
-        if (notas == null) {
-            notas = new java.util.ArrayList<>();
-            nucleo.setNotas(notas);
+        int filasLeidas = 0;
+        int importadas = 0;
+        int filasConError = 0;
+        long proximoId = 0;
+        int idsDisponibles = 0;
+
+        String linea;
+        while ((linea = lector.siguienteLinea()) != null) {
+            filasLeidas++;
+            try {
+                LectorCsvNotas.Fila fila = lector.parsear(linea);
+                if (!nucleosExistentes.computeIfAbsent(fila.nucleoId(), nucleoRepository::existsById)) {
+                    throw new IllegalArgumentException(nucleoNoEncontrado(fila.nucleoId()));
+                }
+
+                // Los IDs se reservan de la misma secuencia que usa Hibernate, un bloque por consulta
+                if (idsDisponibles == 0) {
+                    proximoId = reservarBloqueIds();
+                    idsDisponibles = Nota.TAMANIO_ASIGNACION_ID;
+                }
+                lote.add(new FilaImportada(lector.numeroLinea(), proximoId++, fila));
+                idsDisponibles--;
+
+                if (lote.size() >= tamanioLoteImportacion) {
+                    int confirmadas = confirmarLote(lote, nucleosExistentes, errores);
+                    importadas += confirmadas;
+                    filasConError += lote.size() - confirmadas;
+                    lote.clear();
+                }
+            } catch (IllegalArgumentException e) {
+                filasConError++;
+                informarError(errores, lector.numeroLinea(), e.getMessage());
+            }
+        }
+        if (!lote.isEmpty()) {
+            int confirmadas = confirmarLote(lote, nucleosExistentes, errores);
+            importadas += confirmadas;
+            filasConError += lote.size() - confirmadas;
         }
-        notas.add(nuevaNota);
 
-        // 3. Guardar el núcleo (lo que persiste la relación Uno a Muchos).
-        // Nota: Si el NucleoPedagogico ya tiene un CASCADE.ALL con Curso,
-        // y Nota tiene un CASCADE.ALL con Nucleo, esto podría ser redundante,
-        // pero asegura que la referencia sea persistida si no hay un CASCADE completo.
-        return nucleoService.save(nucleo);
+        return new ResultadoImportacion(filasLeidas, importadas, filasConError, errores);
     }
 
+
+    /**
+     * Modifica el valor y la descripción de una nota, manteniendo los agregados del núcleo.
+     * @throws NoSuchElementException si la nota no existe
+     */
+    @Transactional
+    public Nota actualizarNota(Long id, Integer valor, String descripcion) {
+        if (valor == null || valor < 1 || valor > 10) {
+            throw new IllegalArgumentException("El valor de la nota debe estar entre 1 y 10.");
+        }
+        NucleoPedagogico nucleo = bloquearNucleoDeNota(id);
+        Nota nota = notaRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Nota con ID " + id + " no encontrada."));
+
+        nucleo.getEstadisticas().actualizar(nota.getValor(), valor);
+        nota.setValor(valor);
+        nota.setDescripcion(descripcion);
+        return nota;
+    }
+
+    /**
+     * Elimina una nota, descontándola de los agregados de su núcleo.
+     * @throws NoSuchElementException si la nota no existe
+     */
     @Transactional
     public void deleteById(Long id) {
-        notaRepository.deleteById(id);
+        NucleoPedagogico nucleo = bloquearNucleoDeNota(id);
+        Nota nota = notaRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Nota con ID " + id + " no encontrada."));
+
+        nucleo.getEstadisticas().descontar(nota.getValor());
+        notaRepository.delete(nota);
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private NucleoPedagogico bloquearNucleoDeNota(Long notaId) {
+        Long nucleoId = nucleoRepository.findIdByNotaId(notaId)
+                .orElseThrow(() -> new NoSuchElementException("Nota con ID " + notaId + " no encontrada."));
+        return bloquearNucleo(nucleoId);
+    }
+
+    private NucleoPedagogico bloquearNucleo(Long nucleoId) {
+        return nucleoRepository.findParaActualizarById(nucleoId)
+                .orElseThrow(() -> new NoSuchElementException(
+                        "Núcleo Pedagógico con ID " + nucleoId + " no encontrado."));
+    }
+
+    /**
+     * Reserva un bloque de IDs con la misma semántica "pooled-lo" que usa Hibernate:
+     * el valor obtenido es el primer ID del bloque [valor, valor + TAMANIO_ASIGNACION_ID).
+     */
+    private long reservarBloqueIds() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Nota.SECUENCIA_ID, Long.class);
+    }
+
+    /**
+     * Inserta el lote y suma sus notas a los agregados de cada núcleo, en una única transacción.
+     * Si un núcleo se eliminó después de validarse sus filas, la clave foránea rechaza el lote:
+     * la transacción se revierte, las filas de los núcleos que ya no existen se informan como
+     * errores y el resto del lote se vuelve a intentar.
+     * @return cantidad de filas del lote insertadas
+     */
+    private int confirmarLote(List<FilaImportada> lote, Map<Long, Boolean> nucleosExistentes, List<String> errores) {
+        List<FilaImportada> pendientes = lote;
+        while (!pendientes.isEmpty()) {
+            try {
+                insertarConAgregados(pendientes);
+                return pendientes.size();
+            } catch (DataIntegrityViolationException e) {
+                List<FilaImportada> restantes = new ArrayList<>(pendientes.size());
+                for (FilaImportada fila : pendientes) {
+                    long nucleoId = fila.fila().nucleoId();
+                    if (nucleosExistentes.get(nucleoId) && !nucleoRepository.existsById(nucleoId)) {
+                        nucleosExistentes.put(nucleoId, false);
+                    }
+                    if (nucleosExistentes.get(nucleoId)) {
+                        restantes.add(fila);
+                    } else {
+                        informarError(errores, fila.numeroLinea(), nucleoNoEncontrado(nucleoId));
+                    }
+                }
+                if (restantes.size() == pendientes.size()) {
+                    throw e; // No la causó un núcleo eliminado
+                }
+                pendientes = restantes;
+            }
+        }
+        return 0;
+    }
+
+    private void insertarConAgregados(List<FilaImportada> filas) {
+        // Histograma de las notas por núcleo, en orden de ID para no entrar en deadlock con otra importación
+        Map<Long, long[]> histogramas = new TreeMap<>();
+        List<Object[]> parametros = new ArrayList<>(filas.size());
+        for (FilaImportada importada : filas) {
+            LectorCsvNotas.Fila fila = importada.fila();
+            parametros.add(new Object[]{importada.id(), fila.valor(), fila.descripcion(), fila.nucleoId()});
+            histogramas.computeIfAbsent(fila.nucleoId(), id -> new long[EstadisticasNotas.NOTA_MAXIMA])
+                    [fila.valor() - EstadisticasNotas.NOTA_MINIMA]++;
+        }
+        transactionTemplate.executeWithoutResult(estado -> {
+            jdbcTemplate.batchUpdate(SQL_INSERTAR_NOTA, parametros);
+            // Un UPDATE por núcleo afectado, no por nota
+            histogramas.forEach((nucleoId, histograma) ->
+                    nucleoRepository.findParaActualizarById(nucleoId)
+                            .ifPresent(nucleo -> nucleo.getEstadisticas().acumular(histograma)));
+        });
+    }
+
+    private static void informarError(List<String> errores, int numeroLinea, String mensaje) {
+        if (errores.size() < MAXIMO_ERRORES_INFORMADOS) {
+            errores.add("Línea " + numeroLinea + ": " + mensaje);
+        }
+    }
+
+    private static String nucleoNoEncontrado(Long nucleoId) {
+        return "Núcleo Pedagógico con ID " + nucleoId + " no encontrado.";
+    }
+
+    /**
+     * Fila válida del CSV con el ID ya reservado, a la espera de su lote.
+     */
+    private record FilaImportada(int numeroLinea, long id, LectorCsvNotas.Fila fila) {
     }
-}
\ No newline at end of file
+}
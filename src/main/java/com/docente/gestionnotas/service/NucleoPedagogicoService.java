@@ -1,30 +1,50 @@
 package com.docente.gestionnotas.service;
 
+import com.docente.gestionnotas.config.CacheConfig;
+import com.docente.gestionnotas.config.MetricasConfig;
+import com.docente.gestionnotas.dto.NucleoConNotas;
+import com.docente.gestionnotas.dto.NucleoResumen;
+import com.docente.gestionnotas.dto.ResultadoEliminacionMasiva;
 import com.docente.gestionnotas.model.Curso;
 import com.docente.gestionnotas.model.NucleoPedagogico;
 import com.docente.gestionnotas.repository.CursoRepository;
+import com.docente.gestionnotas.repository.NotaRepository;
 import com.docente.gestionnotas.repository.NucleoPedagogicoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
  * Servicio para gestionar Núcleos Pedagógicos.
  * Maneja la lógica de negocio relacionada con núcleos y su relación con cursos.
  */
 @Service
+@Timed(value = MetricasConfig.TIMER_SERVICIOS, histogram = true)
 public class NucleoPedagogicoService {
 
+    // Cantidad máxima de IDs por sentencia en la eliminación masiva (acota el tamaño del IN)
+    private static final int TAMANIO_LOTE_ELIMINACION = 500;
+
     // CORRECCIÓN 1: Cambio de 'public' a 'private'
     private final NucleoPedagogicoRepository nucleoRepository;
     private final CursoRepository cursoRepository;
+    private final NotaRepository notaRepository;
 
     public NucleoPedagogicoService(
             NucleoPedagogicoRepository nucleoRepository,
-            CursoRepository cursoRepository) {
+            CursoRepository cursoRepository,
+            NotaRepository notaRepository) {
         this.nucleoRepository = nucleoRepository;
         this.cursoRepository = cursoRepository;
+        this.notaRepository = notaRepository;
     }
 
     /**
@@ -46,9 +66,23 @@ public class NucleoPedagogicoService {
                         "Núcleo Pedagógico con ID " + id + " no encontrado."));
     }
 
+    /**
+     * Obtiene un núcleo con sus notas como proyección de solo lectura (dos consultas).
+     * @throws NoSuchElementException si no existe
+     */
+    @Transactional(readOnly = true)
+    public NucleoConNotas findConNotas(Long id) {
+        NucleoResumen nucleo = nucleoRepository.findResumenById(id)
+                .orElseThrow(() -> new NoSuchElementException(
+                        "Núcleo Pedagógico con ID " + id + " no encontrado."));
+        return new NucleoConNotas(nucleo.id(), nucleo.tema(), nucleo.descripcion(),
+                nucleoRepository.findNotasResumenByNucleoId(id));
+    }
+
     /**
      * Crea un nuevo núcleo pedagógico y lo asocia a un curso.
      * Este método mantiene la sesión de Hibernate activa y gestiona las entidades correctamente.
+     * Como cambia el curso, invalida también el catálogo de cursos en caché.
      *
      * @param cursoId ID del curso al que se añadirá el núcleo
      * @param nuevoNucleo Núcleo pedagógico a crear
@@ -56,6 +90,7 @@ public class NucleoPedagogicoService {
      * @throws NoSuchElementException si el curso no existe
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATALOGO_CURSOS, allEntries = true)
     public Curso crearNucleo(Long cursoId, NucleoPedagogico nuevoNucleo) {
 
         // 1. Buscar el curso (queda ATTACHED a la sesión de Hibernate)
@@ -63,18 +98,20 @@ public class NucleoPedagogicoService {
                 .orElseThrow(() -> new NoSuchElementException(
                         "Curso no encontrado con ID: " + cursoId));
 
-        // 2. Establecer la bidireccionalidad
-        curso.addNucleo(nuevoNucleo);
-        // Nota: curso.addNucleo() debe llamar internamente a nuevoNucleo.setCurso(this)
+        // 2. Persistir el núcleo antes de agregarlo al Set del curso: su hashCode
+        //    depende del ID, y cambiaría si se asignara con el núcleo ya dentro del Set
+        nuevoNucleo.setId(null);
+        nuevoNucleo.setCurso(curso);
+        nucleoRepository.save(nuevoNucleo);
 
-        // 3. Persistir el curso
-        // Gracias a CascadeType.ALL, esto automáticamente guarda el nuevo núcleo
-        return cursoRepository.save(curso);
+        // 3. Establecer la bidireccionalidad (addNucleo también llama a nuevoNucleo.setCurso)
+        curso.addNucleo(nuevoNucleo);
+        return curso;
     }
 
     /**
-     * Elimina un núcleo pedagógico por ID.
-     * Gracias a CascadeType.ALL, las notas asociadas también se eliminan.
+     * Elimina un núcleo pedagógico por ID junto con sus notas, con dos sentencias
+     * por conjuntos (notas y núcleo) en lugar de cargar y borrar cada nota.
      *
      * @param nucleoId ID del núcleo a eliminar
      * @throws NoSuchElementException si el núcleo no existe
@@ -85,6 +122,34 @@ public class NucleoPedagogicoService {
             throw new NoSuchElementException(
                     "Núcleo Pedagógico con ID " + nucleoId + " no encontrado.");
         }
-        nucleoRepository.deleteById(nucleoId);
+        eliminar(List.of(nucleoId));
+    }
+
+    /**
+     * Elimina varios núcleos con sus notas. Cada lote de IDs se resuelve con dos sentencias,
+     * sin importar cuántas notas tenga cada núcleo; Hibernate invalida las regiones de la caché
+     * de segundo nivel afectadas (núcleos y Curso.nucleos).
+     * Los IDs nulos, repetidos o inexistentes se ignoran.
+     */
+    @Transactional
+    public ResultadoEliminacionMasiva eliminarEnLote(Collection<Long> nucleoIds) {
+        return eliminar(nucleoIds);
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private ResultadoEliminacionMasiva eliminar(Collection<Long> nucleoIds) {
+        // Se eliminan nulos y duplicados; el tamaño del lote acota el IN de cada sentencia
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(
+                nucleoIds.stream().filter(Objects::nonNull).toList()));
+
+        int nucleos = 0;
+        int notas = 0;
+        for (int desde = 0; desde < ids.size(); desde += TAMANIO_LOTE_ELIMINACION) {
+            List<Long> lote = ids.subList(desde, Math.min(desde + TAMANIO_LOTE_ELIMINACION, ids.size()));
+            notas += notaRepository.eliminarPorNucleoIds(lote);
+            nucleos += nucleoRepository.eliminarPorIds(lote);
+        }
+        return new ResultadoEliminacionMasiva(ids.size(), nucleos, ids.size() - nucleos, nucleos, notas, 0);
     }
-}
\ No newline at end of file
+}
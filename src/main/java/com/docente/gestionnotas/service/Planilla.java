@@ -0,0 +1,23 @@
+package com.docente.gestionnotas.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Escritura secuencial de una planilla (encabezado y filas), sin retener las filas ya escritas.
+ * Al cerrarla se completa el archivo; el flujo de salida subyacente no se cierra.
+ */
+interface Planilla extends Closeable {
+
+    void encabezado(String... columnas) throws IOException;
+
+    /**
+     * Agrega una fila. Los valores pueden ser números, textos o null (celda vacía).
+     */
+    void fila(Object... valores) throws IOException;
+
+    /**
+     * Envía al cliente lo escrito hasta el momento.
+     */
+    void vaciar() throws IOException;
+}
@@ -0,0 +1,60 @@
+package com.docente.gestionnotas.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Planilla CSV (RFC 4180) en UTF-8, separada por comas: el mismo formato que acepta
+ * la importación de notas.
+ */
+class PlanillaCsv implements Planilla {
+
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+
+    private final Writer salida;
+
+    PlanillaCsv(OutputStream salida) {
+        this.salida = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANIO_BUFFER);
+    }
+
+    @Override
+    public void encabezado(String... columnas) throws IOException {
+        fila((Object[]) columnas);
+    }
+
+    @Override
+    public void fila(Object... valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                salida.write(',');
+            }
+            if (valores[i] != null) {
+                salida.write(escapar(valores[i].toString()));
+            }
+        }
+        salida.write("\r\n");
+    }
+
+    @Override
+    public void vaciar() throws IOException {
+        salida.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.flush();
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private static String escapar(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,180 @@
+package com.docente.gestionnotas.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Planilla XLSX (Office Open XML) escrita directamente como ZIP: cada fila se vuelca a la hoja
+ * a medida que llega, con textos en línea (sin tabla de cadenas compartidas), así que la memoria
+ * no depende de la cantidad de filas. Al llegar al límite de filas de Excel se continúa en una
+ * hoja nueva con el mismo encabezado; el libro y los tipos de contenido, que dependen de la
+ * cantidad de hojas, se escriben al cerrar (el orden de las entradas del ZIP no importa).
+ */
+class PlanillaXlsx implements Planilla {
+
+    // Filas por hoja en Excel (incluido el encabezado)
+    private static final int MAXIMO_FILAS_HOJA = 1_048_576;
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+
+    private static final String ESPACIO_HOJA = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String ESPACIO_RELACIONES = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String RELACION_DOCUMENTO =
+            "http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument";
+    private static final String RELACION_HOJA =
+            "http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet";
+
+    private final ZipOutputStream zip;
+    private final Writer xml;
+    private final String nombreHoja;
+
+    private String[] columnas = new String[0];
+    private int hojas;
+    private int filasHoja;
+
+    PlanillaXlsx(OutputStream salida, String nombreHoja) {
+        this.zip = new ZipOutputStream(salida, StandardCharsets.UTF_8);
+        this.xml = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), TAMANIO_BUFFER);
+        this.nombreHoja = nombreHoja;
+    }
+
+    @Override
+    public void encabezado(String... columnas) throws IOException {
+        this.columnas = columnas.clone();
+        abrirHoja();
+    }
+
+    @Override
+    public void fila(Object... valores) throws IOException {
+        if (hojas == 0 || filasHoja == MAXIMO_FILAS_HOJA) {
+            cerrarHoja();
+            abrirHoja();
+        }
+        escribirFila(valores);
+    }
+
+    @Override
+    public void vaciar() throws IOException {
+        xml.flush();
+        zip.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (hojas == 0) {
+            abrirHoja();
+        }
+        cerrarHoja();
+        escribirLibro();
+        zip.finish();
+        zip.flush();
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private void abrirHoja() throws IOException {
+        hojas++;
+        filasHoja = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + hojas + ".xml"));
+        xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n<worksheet xmlns=\"");
+        xml.write(ESPACIO_HOJA);
+        xml.write("\"><sheetData>");
+        if (columnas.length > 0) {
+            escribirFila(columnas);
+        }
+    }
+
+    private void cerrarHoja() throws IOException {
+        if (hojas == 0) {
+            return;
+        }
+        xml.write("</sheetData></worksheet>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void escribirFila(Object[] valores) throws IOException {
+        filasHoja++;
+        xml.write("<row r=\"");
+        xml.write(Integer.toString(filasHoja));
+        xml.write("\">");
+        for (Object valor : valores) {
+            if (valor == null) {
+                xml.write("<c/>");
+            } else if (valor instanceof Number numero) {
+                xml.write("<c t=\"n\"><v>");
+                xml.write(numero.toString());
+                xml.write("</v></c>");
+            } else {
+                xml.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                escaparXml(valor.toString());
+                xml.write("</t></is></c>");
+            }
+        }
+        xml.write("</row>");
+    }
+
+    private void escaparXml(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '&' -> xml.write("&amp;");
+                case '<' -> xml.write("&lt;");
+                case '>' -> xml.write("&gt;");
+                case '"' -> xml.write("&quot;");
+                default -> {
+                    // Los caracteres de control (salvo tabulación y saltos de línea) no son válidos en XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        xml.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void escribirLibro() throws IOException {
+        StringBuilder tipos = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ")
+                .append("ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        StringBuilder libro = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .append("<workbook xmlns=\"").append(ESPACIO_HOJA).append("\" ")
+                .append("xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>");
+        StringBuilder relacionesLibro = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .append("<Relationships xmlns=\"").append(ESPACIO_RELACIONES).append("\">");
+
+        for (int hoja = 1; hoja <= hojas; hoja++) {
+            tipos.append("<Override PartName=\"/xl/worksheets/sheet").append(hoja).append(".xml\" ")
+                    .append("ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            libro.append("<sheet name=\"").append(nombreHoja).append(hojas > 1 ? " " + hoja : "")
+                    .append("\" sheetId=\"").append(hoja).append("\" r:id=\"rId").append(hoja).append("\"/>");
+            relacionesLibro.append("<Relationship Id=\"rId").append(hoja).append("\" Type=\"").append(RELACION_HOJA)
+                    .append("\" Target=\"worksheets/sheet").append(hoja).append(".xml\"/>");
+        }
+        tipos.append("</Types>");
+        libro.append("</sheets></workbook>");
+        relacionesLibro.append("</Relationships>");
+
+        escribirEntrada("[Content_Types].xml", tipos);
+        escribirEntrada("_rels/.rels", new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .append("<Relationships xmlns=\"").append(ESPACIO_RELACIONES).append("\">")
+                .append("<Relationship Id=\"rId1\" Type=\"").append(RELACION_DOCUMENTO)
+                .append("\" Target=\"xl/workbook.xml\"/></Relationships>"));
+        escribirEntrada("xl/workbook.xml", libro);
+        escribirEntrada("xl/_rels/workbook.xml.rels", relacionesLibro);
+    }
+
+    private void escribirEntrada(String nombre, CharSequence contenido) throws IOException {
+        zip.putNextEntry(new ZipEntry(nombre));
+        xml.append(contenido);
+        xml.flush();
+        zip.closeEntry();
+    }
+}
@@ -1,7 +1,8 @@
 package com.docente.gestionnotas.ui.controller;
 
+import com.docente.gestionnotas.dto.CursoCatalogo;
+import com.docente.gestionnotas.dto.PaginaCursor;
 import com.docente.gestionnotas.model.Alumno;
-import com.docente.gestionnotas.model.Curso;
 import com.docente.gestionnotas.service.AlumnoService;
 import com.docente.gestionnotas.service.CursoService;
 import jakarta.validation.Valid;
@@ -26,14 +27,26 @@ public class AlumnoUIController {
         this.cursoService = cursoService;
     }
 
-    // Ruta: /ui/alumnos
+    // Ruta: /ui/alumnos?cursor={cursor}&tamanio={n}&orden={id|apellido}
     @GetMapping
-    public String listarAlumnos(Model model) {
-        // 1. Obtener los datos del servicio
-        List<Alumno> alumnos = alumnoService.findAll();
+    public String listarAlumnos(@RequestParam(required = false) String cursor,
+                                @RequestParam(required = false) Integer tamanio,
+                                @RequestParam(defaultValue = "id") String orden,
+                                Model model) {
+        // 1. Obtener solo la página solicitada (paginación por cursor)
+        PaginaCursor<Alumno> pagina;
+        try {
+            pagina = alumnoService.findPaginaConCursos(cursor, tamanio, orden);
+        } catch (IllegalArgumentException e) {
+            // Cursor manipulado o vencido: se vuelve a la primera página
+            model.addAttribute("error", e.getMessage());
+            pagina = alumnoService.findPaginaConCursos(null, tamanio, orden);
+        }
 
         // 2. Agregar los datos al modelo para que Thymeleaf los use
-        model.addAttribute("alumnos", alumnos);
+        model.addAttribute("alumnos", pagina.contenido());
+        model.addAttribute("pagina", pagina);
+        model.addAttribute("orden", orden);
 
         // 3. Devolver el nombre de la plantilla HTML (src/main/resources/templates/alumnos/lista.html)
         return "alumnos/lista";
@@ -109,8 +122,8 @@ public class AlumnoUIController {
             // 2. Pasar el alumno al modelo (con su lista de cursos cargada por defecto)
             model.addAttribute("alumno", alumno);
 
-            // 3. Muestra listado de cursos
-            List<Curso> cursosDisponibles = cursoService.findAll(); // ASUMO que tienes un CursoService
+            // 3. Muestra listado de cursos (catálogo en caché, sin consultar la base)
+            List<CursoCatalogo> cursosDisponibles = cursoService.findCatalogo();
             model.addAttribute("cursosDisponibles", cursosDisponibles);
 
             // Necesitas asegurarte de que tu clase Alumno esté anotada con @Entity
@@ -1,6 +1,11 @@
 package com.docente.gestionnotas.ui.controller;
 
-import com.docente.gestionnotas.model.Alumno;
+import com.docente.gestionnotas.dto.AlumnoResumen;
+import com.docente.gestionnotas.dto.CursoListado;
+import com.docente.gestionnotas.dto.CursoResumen;
+import com.docente.gestionnotas.dto.EstadisticasCurso;
+import com.docente.gestionnotas.dto.FiltroCursos;
+import com.docente.gestionnotas.dto.ResultadoInscripcionMasiva;
 import com.docente.gestionnotas.model.Curso;
 import com.docente.gestionnotas.model.Nota;
 import com.docente.gestionnotas.model.NucleoPedagogico;
@@ -8,15 +13,14 @@ import com.docente.gestionnotas.service.AlumnoService;
 import com.docente.gestionnotas.service.CursoService;
 import com.docente.gestionnotas.service.NucleoPedagogicoService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
@@ -103,12 +107,20 @@ public class CursoUIController {
     @GetMapping("/{id}")
     public String mostrarDetallesCurso(@PathVariable Long id, Model model) {
         try {
-            // Llama al servicio para obtener el curso
-            Curso curso = cursoService.findById(id);
+            // Llama al servicio para obtener el curso con núcleos y notas ya cargados
+            Curso curso = cursoService.findConNucleosYNotas(id);
 
             // Añade el objeto 'curso' al modelo para que Thymeleaf lo use
             model.addAttribute("curso", curso);
 
+            // Estadísticas y promedios por núcleo, calculados con una sola consulta agrupada
+            EstadisticasCurso estadisticas = cursoService.calcularEstadisticas(id);
+            model.addAttribute("estadisticas", estadisticas);
+            model.addAttribute("promedios", estadisticas.promediosPorNucleo());
+
+            // Objeto vacío para el formulario "Añadir Nueva Nota"
+            model.addAttribute("nuevaNota", new Nota());
+
             // Retorna la plantilla Thymeleaf (debe existir el archivo 'cursos/detalles.html')
             return "cursos/detalles";
 
@@ -178,20 +190,20 @@ public class CursoUIController {
 
     /**
      * Muestra el formulario de inscripción de alumnos.
+     * Solo se cargan las primeras sugerencias de alumnos no inscritos; el resto
+     * se obtiene al escribir, desde GET /api/cursos/{id}/alumnos/disponibles.
      * GET /ui/cursos/{id}/inscribir
      */
     @GetMapping("/{id}/inscribir")
     public String mostrarFormularioInscripcion(@PathVariable Long id, Model model) {
         try {
-            Curso curso = cursoService.findById(id);
+            CursoResumen curso = cursoService.findResumen(id);
 
-            // Obtener alumnos no inscritos en este curso
-            List<Alumno> todosAlumnos = alumnoService.findAll();
-            List<Alumno> alumnosInscritos = curso.getAlumnos();
-            todosAlumnos.removeAll(alumnosInscritos);
+            // Obtener alumnos no inscritos en este curso (una consulta con NOT EXISTS)
+            List<AlumnoResumen> alumnosDisponibles = alumnoService.buscarNoInscritos(id, null, null);
 
             model.addAttribute("curso", curso);
-            model.addAttribute("alumnosDisponibles", todosAlumnos);
+            model.addAttribute("alumnosDisponibles", alumnosDisponibles);
 
             return "cursos/inscribir_alumno";
 
@@ -201,20 +213,23 @@ public class CursoUIController {
     }
 
     /**
-     * Inscribe un alumno a un curso.
+     * Inscribe uno o varios alumnos (selección múltiple) a un curso.
      * POST /ui/cursos/{id}/inscribir
      */
     @PostMapping("/{id}/inscribir")
     public String inscribirAlumno(
             @PathVariable Long id,
-            @RequestParam Long alumnoId,
+            @RequestParam List<Long> alumnoIds,
             RedirectAttributes redirectAttributes) {
 
         String redirectUrl = "redirect:/ui/cursos/" + id + "/detalles";
 
         try {
-            alumnoService.inscribirAlumnoACurso(alumnoId, id);
-            redirectAttributes.addFlashAttribute("success", "Alumno inscrito correctamente.");
+            ResultadoInscripcionMasiva resultado = alumnoService.inscribirAlumnosACurso(id, alumnoIds);
+            redirectAttributes.addFlashAttribute("success",
+                    resultado.inscritos() + " alumno(s) inscrito(s) correctamente."
+                            + (resultado.yaInscritos() > 0 ? " Ya inscritos: " + resultado.yaInscritos() + "." : "")
+                            + (resultado.noEncontrados() > 0 ? " No encontrados: " + resultado.noEncontrados() + "." : ""));
             return redirectUrl;
 
         } catch (NoSuchElementException e) {
@@ -261,37 +276,23 @@ public class CursoUIController {
         return "redirect:/ui/cursos";
     }
 
-    // ==================== MÉTODOS AUXILIARES ====================
-
-    /**
-     * Calcula los promedios de cada núcleo del curso.
-     * Este es un método auxiliar privado.
-     */
-    private Map<Long, Double> calcularPromedios(Curso curso) {
-        Map<Long, Double> promedios = new HashMap<>();
-
-        if (curso.getNucleos() != null) {
-            curso.getNucleos().forEach(nucleo -> {
-                if (nucleo.getNotas() != null && !nucleo.getNotas().isEmpty()) {
-                    double promedio = nucleo.getNotas().stream()
-                            .mapToInt(nota -> nota.getValor())
-                            .average()
-                            .orElse(0.0);
-                    promedios.put(nucleo.getId(), promedio);
-                }
-            });
-        }
-
-        return promedios;
-    }
-
+    // Ruta: /ui/cursos?anio={n}&division={d}&materia={prefijo}&pagina={n}&tamanio={n}
     @GetMapping("") // O la URL que uses como inicio, ejemplo: "/"
-    public String listarCursos(Model model) {
-        // Asume que tienes un servicio para obtener todos los cursos
-        List<Curso> cursos = cursoService.findAll();
+    public String listarCursos(@RequestParam(required = false) Integer anio,
+                               @RequestParam(required = false) String division,
+                               @RequestParam(required = false) String materia,
+                               @RequestParam(defaultValue = "0") int pagina,
+                               @RequestParam(required = false) Integer tamanio,
+                               Model model) {
+        // Solo la página pedida (filtrada por año, división y materia), con las cantidades de
+        // alumnos, núcleos y notas de esos cursos obtenidas en una sola consulta agrupada
+        FiltroCursos filtro = new FiltroCursos(anio, division, materia);
+        Page<CursoListado> cursos = cursoService.buscarListado(filtro, pagina, tamanio);
 
         // El nombre del atributo debe coincidir con th:each="curso : ${cursos}"
-        model.addAttribute("cursos", cursos);
+        model.addAttribute("cursos", cursos.getContent());
+        model.addAttribute("pagina", cursos);
+        model.addAttribute("filtro", filtro);
 
         return "cursos/index"; // Retorna el template index.html (asumiendo que está en /templates/cursos/)
     }
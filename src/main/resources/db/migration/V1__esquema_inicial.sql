@@ -0,0 +1,60 @@
+-- Esquema inicial: el DDL que Hibernate 6.6 genera para las entidades originales con
+-- ddl-auto=update (el mismo que tiene data/gestiondb), con sus tipos, restricciones y
+-- nombres de claves foráneas. En una base existente esta migración no se ejecuta: Flyway
+-- la registra como línea base (spring.flyway.baseline-on-migrate) y aplica solo las
+-- versiones siguientes.
+
+CREATE TABLE alumno (
+    fecha_nacimiento DATE,
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    dni              VARCHAR(10)  NOT NULL,
+    apellido         VARCHAR(100) NOT NULL,
+    nombre           VARCHAR(100) NOT NULL,
+    direccion        VARCHAR(150),
+    email            VARCHAR(150),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE alumno_curso (
+    alumno_id BIGINT NOT NULL,
+    curso_id  BIGINT NOT NULL
+);
+
+CREATE TABLE curso (
+    anio            INTEGER      NOT NULL CHECK (anio >= 1),
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    division        VARCHAR(10)  NOT NULL,
+    nombre_materia  VARCHAR(100) NOT NULL,
+    descripcion     VARCHAR(255),
+    nombre_completo VARCHAR(255) NOT NULL UNIQUE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE nota (
+    valor       INTEGER NOT NULL CHECK ((valor >= 1) AND (valor <= 10)),
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nucleo_id   BIGINT,
+    descripcion VARCHAR(200),
+    PRIMARY KEY (id)
+);
+
+-- TEXT: @Column(columnDefinition = "TEXT") en NucleoPedagogico.descripcion
+CREATE TABLE nucleo_pedagogico (
+    curso_id    BIGINT,
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    tema        VARCHAR(200) NOT NULL,
+    descripcion TEXT,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE alumno_curso
+    ADD CONSTRAINT FKowxkqfb2u3f989w71rflxqi86 FOREIGN KEY (curso_id) REFERENCES curso;
+
+ALTER TABLE alumno_curso
+    ADD CONSTRAINT FKr44lwkj2g6xp76jg0p19dqqcw FOREIGN KEY (alumno_id) REFERENCES alumno;
+
+ALTER TABLE nota
+    ADD CONSTRAINT FK2aypwr7wu4vf04rey7jq98cj4 FOREIGN KEY (nucleo_id) REFERENCES nucleo_pedagogico;
+
+ALTER TABLE nucleo_pedagogico
+    ADD CONSTRAINT FK26k0wd4n358w5dkdecqbmeqaw FOREIGN KEY (curso_id) REFERENCES curso;
@@ -0,0 +1,66 @@
+-- Lleva el esquema inicial al modelo actual: secuencia de notas, agregados por núcleo,
+-- restricciones de unicidad e índices explícitos para las columnas por las que se consulta.
+-- Cada paso se puede volver a ejecutar sin error (IF NOT EXISTS / IF EXISTS, o sentencias
+-- que en H2 no fallan si el cambio ya está hecho), porque una base que ya corrió con
+-- ddl-auto=update puede tener parte de estos cambios aplicados, y H2 confirma cada DDL por
+-- separado: si la migración se interrumpe, los pasos ya hechos no se deshacen.
+
+-- --- Notas: IDs por secuencia (pooled-lo, bloques de 50) y núcleo obligatorio ---
+
+CREATE SEQUENCE IF NOT EXISTS nota_seq START WITH 1 INCREMENT BY 50;
+
+-- Las notas creadas con IDENTITY ya ocupan IDs bajos: la secuencia sigue al mayor de ellos.
+-- Nunca retrocede, por si la migración se vuelve a ejecutar con IDs ya reservados.
+ALTER SEQUENCE nota_seq RESTART WITH (
+    SELECT GREATEST(COALESCE(MAX(id), 0) + 1,
+                    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'NOTA_SEQ'))
+    FROM nota);
+
+-- En H2, quitar la identidad de una columna que ya no la tiene no es un error
+ALTER TABLE nota ALTER COLUMN id DROP IDENTITY;
+
+-- Las notas sin núcleo no son alcanzables desde la aplicación
+DELETE FROM nota WHERE nucleo_id IS NULL;
+ALTER TABLE nota ALTER COLUMN nucleo_id SET NOT NULL;
+
+-- --- Núcleos: agregados de sus notas (los reconstruye EstadisticasNotasService al iniciar) ---
+
+ALTER TABLE nucleo_pedagogico ADD COLUMN IF NOT EXISTS cantidad_notas BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE nucleo_pedagogico ADD COLUMN IF NOT EXISTS suma_notas BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE nucleo_pedagogico ADD COLUMN IF NOT EXISTS nota_minima INTEGER;
+ALTER TABLE nucleo_pedagogico ADD COLUMN IF NOT EXISTS nota_maxima INTEGER;
+ALTER TABLE nucleo_pedagogico ADD COLUMN IF NOT EXISTS histograma_notas BIGINT ARRAY;
+
+-- --- Alumnos: unicidad de DNI y email ---
+
+ALTER TABLE alumno ADD CONSTRAINT IF NOT EXISTS uk_alumno_dni UNIQUE (dni);
+ALTER TABLE alumno ADD CONSTRAINT IF NOT EXISTS uk_alumno_email UNIQUE (email);
+
+-- --- Inscripciones: sin duplicados, con clave primaria (alumno_id, curso_id) ---
+
+-- Si una ejecución anterior se interrumpió después de copiar, la copia existente se conserva:
+-- puede ser la única que tiene las inscripciones
+CREATE TABLE IF NOT EXISTS alumno_curso_unico AS SELECT DISTINCT alumno_id, curso_id FROM alumno_curso;
+DELETE FROM alumno_curso;
+INSERT INTO alumno_curso (alumno_id, curso_id) SELECT DISTINCT alumno_id, curso_id FROM alumno_curso_unico;
+DROP TABLE IF EXISTS alumno_curso_unico;
+
+ALTER TABLE alumno_curso ADD CONSTRAINT IF NOT EXISTS pk_alumno_curso PRIMARY KEY (alumno_id, curso_id);
+
+-- --- Índices ---
+
+-- Notas de un núcleo (findNotasResumenByNucleoId, contarNotasPorValor, borrado por núcleo)
+CREATE INDEX IF NOT EXISTS idx_nota_nucleo ON nota (nucleo_id);
+
+-- Núcleos de un curso (Curso.nucleos, listado de cursos, borrado por curso)
+CREATE INDEX IF NOT EXISTS idx_nucleo_curso ON nucleo_pedagogico (curso_id);
+
+-- Alumnos de un curso; los cursos de un alumno usan la clave primaria (alumno_id, curso_id)
+CREATE INDEX IF NOT EXISTS idx_alumno_curso_curso ON alumno_curso (curso_id, alumno_id);
+
+-- Paginación y orden por apellido; el DNI usa el índice de uk_alumno_dni
+-- (la búsqueda por prefijo usa las columnas e índices de V3)
+CREATE INDEX IF NOT EXISTS idx_alumno_apellido ON alumno (apellido, nombre);
+
+-- Listado filtrado de cursos (ver CursoSpecifications)
+CREATE INDEX IF NOT EXISTS idx_curso_anio_division_materia ON curso (anio, division, nombre_materia);
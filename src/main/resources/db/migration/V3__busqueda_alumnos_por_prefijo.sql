@@ -0,0 +1,12 @@
+-- Columnas normalizadas, calculadas por la base, para buscar alumnos por prefijo de apellido
+-- o nombre sin distinguir mayúsculas ni acentos. LOWER(apellido) LIKE 'ab%' no puede usar un índice
+-- sobre apellido; apellido_busqueda LIKE 'ab%' recorre solo el rango del prefijo en su índice.
+-- La normalización es la de BusquedaAlumnosService.normalizar (minúsculas, sin acentos ni puntos)
+-- para las letras acentuadas del español y las lenguas vecinas.
+-- No se mapean en la entidad: las usan solo las consultas nativas de AlumnoRepository.
+
+ALTER TABLE alumno ADD COLUMN IF NOT EXISTS apellido_busqueda VARCHAR(100) GENERATED ALWAYS AS (REPLACE(TRANSLATE(LOWER(apellido), 'áàâäãåéèêëíìîïóòôöõúùûüñçýÿ', 'aaaaaaeeeeiiiiooooouuuuncyy'), '.', ''));
+ALTER TABLE alumno ADD COLUMN IF NOT EXISTS nombre_busqueda VARCHAR(100) GENERATED ALWAYS AS (REPLACE(TRANSLATE(LOWER(nombre), 'áàâäãåéèêëíìîïóòôöõúùûüñçýÿ', 'aaaaaaeeeeiiiiooooouuuuncyy'), '.', ''));
+
+CREATE INDEX IF NOT EXISTS idx_alumno_apellido_busqueda ON alumno (apellido_busqueda);
+CREATE INDEX IF NOT EXISTS idx_alumno_nombre_busqueda ON alumno (nombre_busqueda);
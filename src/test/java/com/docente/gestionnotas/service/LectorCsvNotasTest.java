@@ -0,0 +1,144 @@
+package com.docente.gestionnotas.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class LectorCsvNotasTest {
+
+    // --- Encabezado y líneas vacías ---
+
+    @Test
+    void omiteElEncabezadoDeLaPrimeraLinea() throws IOException {
+        LectorCsvNotas lector = lector("nucleoId,valor,descripcion\n1,7,Parcial\n");
+
+        assertThat(lector.siguienteLinea()).isEqualTo("1,7,Parcial");
+        assertThat(lector.numeroLinea()).isEqualTo(2);
+        assertThat(lector.siguienteLinea()).isNull();
+    }
+
+    @Test
+    void detectaElEncabezadoDespuesDeLineasVaciasYDeUnaMarcaBom() throws IOException {
+        LectorCsvNotas lector = lector("\uFEFF\n   \nnucleoId;valor\n1;7\n");
+
+        assertThat(lector.siguienteLinea()).isEqualTo("1;7");
+        assertThat(lector.numeroLinea()).isEqualTo(4);
+        assertThat(lector.parsear("1;7")).isEqualTo(new LectorCsvNotas.Fila(1, 7, null));
+    }
+
+    @Test
+    void quitaLaMarcaBomPegadaAlEncabezado() throws IOException {
+        LectorCsvNotas lector = lector("\uFEFFnucleoId,valor\n3,9\n");
+
+        assertThat(lector.siguienteLinea()).isEqualTo("3,9");
+    }
+
+    @Test
+    void sinEncabezadoLaPrimeraLineaEsUnaFila() throws IOException {
+        LectorCsvNotas lector = lector("\uFEFF1,7\n");
+
+        assertThat(lector.siguienteLinea()).isEqualTo("1,7");
+        assertThat(lector.numeroLinea()).isEqualTo(1);
+    }
+
+    @Test
+    void soloLaPrimeraLineaConDatosPuedeSerEncabezado() throws IOException {
+        LectorCsvNotas lector = lector("nucleoId,valor\n1,7\n2,8,valor final\n");
+
+        assertThat(lineas(lector)).containsExactly("1,7", "2,8,valor final");
+    }
+
+    @Test
+    void omiteLasLineasVaciasYCuentaLasLineasDelArchivo() throws IOException {
+        LectorCsvNotas lector = lector("1,7\n\n\r\n  \n2,8\n");
+
+        assertThat(lector.siguienteLinea()).isEqualTo("1,7");
+        assertThat(lector.siguienteLinea()).isEqualTo("2,8");
+        assertThat(lector.numeroLinea()).isEqualTo(5);
+        assertThat(lector.siguienteLinea()).isNull();
+    }
+
+    // --- Comillas ---
+
+    @Test
+    void respetaElSeparadorYLasComillasEscapadasDentroDeComillas() {
+        assertThat(LectorCsvNotas.dividirLineaCsv("1,7,\"Parcial, \"\"tema 2\"\"\"", ','))
+                .containsExactly("1", "7", "Parcial, \"tema 2\"");
+    }
+
+    @Test
+    void parseaUnaDescripcionEntreComillasConElSeparadorPuntoYComa() throws IOException {
+        LectorCsvNotas lector = lector("nucleoId;valor;descripcion\n2;10;\"Oral; recuperatorio\"\n");
+
+        String linea = lector.siguienteLinea();
+        assertThat(lector.parsear(linea)).isEqualTo(new LectorCsvNotas.Fila(2, 10, "Oral; recuperatorio"));
+    }
+
+    @Test
+    void unaDescripcionVaciaQuedaNula() {
+        assertThat(lector("").parsear("1, 5 ,  ")).isEqualTo(new LectorCsvNotas.Fila(1, 5, null));
+    }
+
+    // --- Valores fuera de rango o inválidos ---
+
+    @Test
+    void rechazaNotasFueraDelRango() {
+        LectorCsvNotas lector = lector("");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> lector.parsear("1,0"))
+                .withMessageContaining("entre 1 y 10");
+        assertThatIllegalArgumentException().isThrownBy(() -> lector.parsear("1,11"))
+                .withMessageContaining("entre 1 y 10");
+        assertThatIllegalArgumentException().isThrownBy(() -> lector.parsear("1,-3"))
+                .withMessageContaining("entre 1 y 10");
+    }
+
+    @Test
+    void rechazaValoresQueDesbordanUnIntEnLugarDeTruncarlos() {
+        // 4294967297 = 2^32 + 1: convertido a int antes de validar sería un 1
+        assertThatIllegalArgumentException().isThrownBy(() -> lector("").parsear("1,4294967297"))
+                .withMessageContaining("entre 1 y 10");
+        assertThatIllegalArgumentException().isThrownBy(() -> lector("").parsear("1,99999999999999999999"))
+                .withMessageContaining("no es un valor numérico válido para valor");
+    }
+
+    @Test
+    void rechazaFilasIncompletasONoNumericas() {
+        LectorCsvNotas lector = lector("");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> lector.parsear("1"))
+                .withMessageContaining("nucleoId y valor");
+        assertThatIllegalArgumentException().isThrownBy(() -> lector.parsear("uno,7"))
+                .withMessageContaining("para nucleoId");
+        assertThatIllegalArgumentException().isThrownBy(() -> lector.parsear("1,7.5"))
+                .withMessageContaining("para valor");
+    }
+
+    @Test
+    void rechazaDescripcionesDeMasDe200Caracteres() {
+        assertThat(lector("").parsear("1,7," + "a".repeat(200)).descripcion()).hasSize(200);
+        assertThatIllegalArgumentException().isThrownBy(() -> lector("").parsear("1,7," + "a".repeat(201)))
+                .withMessageContaining("200 caracteres");
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private static LectorCsvNotas lector(String contenido) {
+        return new LectorCsvNotas(new StringReader(contenido));
+    }
+
+    private static List<String> lineas(LectorCsvNotas lector) throws IOException {
+        List<String> lineas = new ArrayList<>();
+        String linea;
+        while ((linea = lector.siguienteLinea()) != null) {
+            lineas.add(linea);
+        }
+        return lineas;
+    }
+}